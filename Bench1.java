@@ -0,0 +1,93 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Lazy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark 1 for CS2030S Lab 7.  Measures the time and allocation of
+ * Lazy.get() once the value has been evaluated, with and without contention.
+ * This is a quick check without a build; ContentionBenchmark and
+ * MemoizedBenchmark in src/jmh measure the same with JMH, as README.md
+ * describes.
+ */
+class Bench1 {
+  private static final int OPS = 10_000_000;
+
+  /**
+   * Main method for Bench1.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    CS2030SBench b = new CS2030SBench();
+
+    Integer[] plain = new Integer[] { 42 };
+    b.time("plain field read (baseline)", OPS, () -> {
+      long sum = 0;
+      for (int k = 0; k < OPS; k++) {
+        sum += plain[0];
+      }
+      return sum;
+    });
+
+    Lazy<Integer> evaluated = Lazy.of(() -> 42);
+    evaluated.get();
+    b.time("Lazy.of(() -> 42).get() after evaluation", OPS, () -> {
+      long sum = 0;
+      for (int k = 0; k < OPS; k++) {
+        sum += evaluated.get();
+      }
+      return sum;
+    });
+
+    b.allocation("Lazy.of(() -> 42).get() after evaluation", OPS, () -> {
+      long sum = 0;
+      for (int k = 0; k < OPS; k++) {
+        sum += evaluated.get();
+      }
+      return sum;
+    });
+
+    InfiniteList<Integer> evens = InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 0);
+    evens.tail().head();
+    b.allocation("InfiniteList.filter().tail().head() after evaluation", OPS, () -> {
+      long sum = 0;
+      for (int k = 0; k < OPS; k++) {
+        sum += evens.tail().head();
+      }
+      return sum;
+    });
+
+    b.time("Lazy.of(() -> 42).get() first evaluation", OPS, () -> {
+      long sum = 0;
+      for (int k = 0; k < OPS; k++) {
+        sum += Lazy.of(() -> 42).get();
+      }
+      return sum;
+    });
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    b.time("Lazy.get() after evaluation, " + threads + " threads", OPS, () -> {
+      List<Thread> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        Thread worker = new Thread(() -> {
+          long sum = 0;
+          for (int k = 0; k < OPS / threads; k++) {
+            sum += evaluated.get();
+          }
+          plain[0] = (int) sum;
+        });
+        workers.add(worker);
+        worker.start();
+      }
+      for (Thread worker : workers) {
+        try {
+          worker.join();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return plain[0];
+    });
+  }
+}
@@ -0,0 +1,27 @@
+import cs2030s.fp.InfiniteList;
+
+/**
+ * Benchmark 2 for CS2030S Lab 7.  Measures the heap retained per element
+ * by a fully evaluated map().filter().limit() pipeline, while only the
+ * first node of the final list is held.
+ */
+class Bench2 {
+  /**
+   * Main method for Bench2.
+   *
+   * @param args Optionally, the number of elements (default 1,000,000).
+   */
+  public static void main(String[] args) {
+    CS2030SBench b = new CS2030SBench();
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+    b.retained("iterate().map().filter().limit(" + n + ") after count()", n, () -> {
+      InfiniteList<Integer> list = InfiniteList.iterate(0, x -> x + 1)
+          .map(x -> x * 2)
+          .filter(x -> x % 3 != 0)
+          .limit(n);
+      list.count();
+      return list;
+    });
+  }
+}
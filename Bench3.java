@@ -0,0 +1,44 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.IntInfiniteList;
+
+/**
+ * Benchmark 3 for CS2030S Lab 7.  Compares InfiniteList&lt;Integer&gt;
+ * with IntInfiniteList on a numeric pipeline.
+ */
+class Bench3 {
+  private static final int N = 1_000_000;
+
+  /**
+   * Main method for Bench3.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030SBench b = new CS2030SBench();
+
+    b.time("InfiniteList iterate().map().filter().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .limit(N).reduce(0, (x, y) -> x + y));
+    b.time("IntInfiniteList iterate().map().filter().limit().reduce()", N,
+        () -> IntInfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .limit(N).reduce(0, (x, y) -> x + y));
+
+    b.allocation("InfiniteList iterate().map().filter().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .limit(N).reduce(0, (x, y) -> x + y));
+    b.allocation("IntInfiniteList iterate().map().filter().limit().reduce()", N,
+        () -> IntInfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .limit(N).reduce(0, (x, y) -> x + y));
+
+    b.retained("InfiniteList iterate().map().limit() after reduce()", N, () -> {
+      InfiniteList<Integer> list = InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).limit(N);
+      list.reduce(0, (x, y) -> x + y);
+      return list;
+    });
+    b.retained("IntInfiniteList iterate().map().limit() after reduce()", N, () -> {
+      IntInfiniteList list = IntInfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).limit(N);
+      list.reduce(0, (x, y) -> x + y);
+      return list;
+    });
+  }
+}
@@ -0,0 +1,40 @@
+import cs2030s.fp.InfiniteList;
+
+/**
+ * Benchmark 4 for CS2030S Lab 7.  Compares per-item InfiniteList nodes
+ * with chunked nodes on iterate().map().filter().limit().reduce(), and on
+ * anyMatch(), which walks the items with a cursor.
+ */
+class Bench4 {
+  private static final int N = 1_000_000;
+
+  /**
+   * Main method for Bench4.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030SBench b = new CS2030SBench();
+
+    b.time("per-item iterate().map().filter().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .limit(N).reduce(0, (x, y) -> x + y));
+    for (int size : new int[] { 16, 64, 256 }) {
+      b.time("chunked(" + size + ") iterate().map().filter().limit().reduce()", N,
+          () -> InfiniteList.iterate(0, x -> x + 1).chunked(size).map(x -> x * 3)
+          .filter(x -> x % 2 == 0).limit(N).reduce(0, (x, y) -> x + y));
+    }
+
+    b.allocation("per-item iterate().map().filter().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .limit(N).reduce(0, (x, y) -> x + y));
+    b.allocation("chunked(64) iterate().map().filter().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).chunked(64).map(x -> x * 3)
+        .filter(x -> x % 2 == 0).limit(N).reduce(0, (x, y) -> x + y));
+    b.allocation("per-item iterate().map().limit().anyMatch()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).limit(N).anyMatch(x -> x < 0));
+    b.allocation("chunked(64) iterate().map().limit().anyMatch()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).chunked(64).map(x -> x * 3).limit(N)
+        .anyMatch(x -> x < 0));
+  }
+}
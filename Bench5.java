@@ -0,0 +1,33 @@
+import cs2030s.fp.InfiniteList;
+
+/**
+ * Benchmark 5 for CS2030S Lab 7.  Measures a chain of map and filter
+ * stages, as separate stages and fused into a single stage per item.
+ */
+class Bench5 {
+  private static final int N = 1_000_000;
+
+  /**
+   * Main method for Bench5.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030SBench b = new CS2030SBench();
+
+    b.time("iterate().map().filter().map().map().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .map(x -> x + 1).map(x -> x / 2).limit(N).reduce(0, (x, y) -> x + y));
+    b.allocation("iterate().map().filter().map().map().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> x * 3).filter(x -> x % 2 == 0)
+        .map(x -> x + 1).map(x -> x / 2).limit(N).reduce(0, (x, y) -> x + y));
+    b.time("iterate().fused().map().filter().map().map().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).fused().map(x -> x * 3)
+        .filter(x -> x % 2 == 0).map(x -> x + 1).map(x -> x / 2).limit(N)
+        .reduce(0, (x, y) -> x + y));
+    b.allocation("iterate().fused().map().filter().map().map().limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).fused().map(x -> x * 3)
+        .filter(x -> x % 2 == 0).map(x -> x + 1).map(x -> x / 2).limit(N)
+        .reduce(0, (x, y) -> x + y));
+  }
+}
@@ -0,0 +1,39 @@
+import cs2030s.fp.InfiniteList;
+
+/**
+ * Benchmark 6 for CS2030S Lab 7.  Compares reduce() with parallelReduce()
+ * on a bounded pipeline whose map transformer is expensive.
+ */
+class Bench6 {
+  private static final int N = 20_000;
+
+  /**
+   * Main method for Bench6.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030SBench b = new CS2030SBench();
+
+    b.time("iterate().map(expensive).limit().reduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(Bench6::expensive).limit(N)
+        .reduce(0L, (x, y) -> x + y));
+    b.time("iterate().map(expensive).limit().parallelReduce()", N,
+        () -> InfiniteList.iterate(0, x -> x + 1).map(Bench6::expensive).limit(N)
+        .parallelReduce(0L, (x, y) -> x + y, (x, y) -> x + y));
+  }
+
+  /**
+   * A deliberately expensive hash of an int.
+   *
+   * @param x The value to hash.
+   * @return The hash.
+   */
+  private static long expensive(int x) {
+    long hash = x;
+    for (int round = 0; round < 2_000; round++) {
+      hash = hash * 6364136223846793005L + 1442695040888963407L;
+    }
+    return hash >>> 32;
+  }
+}
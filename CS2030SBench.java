@@ -0,0 +1,94 @@
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * A helper class to benchmark CS2030S labs.  Each benchmark is warmed up
+ * before it is measured, and the result of every run is kept in a sink so
+ * that the JIT cannot remove the work being measured.
+ */
+class CS2030SBench {
+
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+
+  private volatile Object sink;
+
+  /**
+   * Time a task and report the best average time per operation.
+   *
+   * @param bench A description of the benchmark.
+   * @param ops The number of operations performed by one run of the task.
+   * @param task The task to run.
+   * @return this object.
+   */
+  public CS2030SBench time(String bench, long ops, Supplier<?> task) {
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      this.sink = task.get();
+    }
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long start = System.nanoTime();
+      this.sink = task.get();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    System.out.printf("%-60s %12.2f ns/op%n", bench, (double) best / ops);
+    return this;
+  }
+
+  /**
+   * Measure the bytes allocated by the current thread per operation.
+   *
+   * @param bench A description of the benchmark.
+   * @param ops The number of operations performed by one run of the task.
+   * @param task The task to run.
+   * @return this object.
+   */
+  public CS2030SBench allocation(String bench, long ops, Supplier<?> task) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long id = Thread.currentThread().getId();
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      this.sink = task.get();
+    }
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      long start = threads.getThreadAllocatedBytes(id);
+      this.sink = task.get();
+      best = Math.min(best, threads.getThreadAllocatedBytes(id) - start);
+    }
+    System.out.printf("%-60s %12.2f B/op%n", bench, (double) best / ops);
+    return this;
+  }
+
+  /**
+   * Measure the heap retained by the result of a task, per element.
+   *
+   * @param bench A description of the benchmark.
+   * @param elements The number of elements in the result of the task.
+   * @param task The task to run.
+   * @return this object.
+   */
+  public CS2030SBench retained(String bench, long elements, Supplier<?> task) {
+    this.sink = null;
+    long before = CS2030SBench.usedHeap();
+    Object result = task.get();
+    long after = CS2030SBench.usedHeap();
+    this.sink = result;
+    System.out.printf("%-60s %12.2f B/element%n", bench, (double) (after - before) / elements);
+    this.sink = null;
+    return this;
+  }
+
+  /**
+   * Return the heap in use after a full garbage collection.
+   *
+   * @return The number of bytes in use.
+   */
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int round = 0; round < 3; round++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
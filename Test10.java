@@ -0,0 +1,98 @@
+import cs2030s.fp.DoubleInfiniteList;
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.IntBooleanCondition;
+import cs2030s.fp.IntInfiniteList;
+import cs2030s.fp.IntTransformer;
+import cs2030s.fp.LongInfiniteList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test 10 for CS2030S Lab 7.  Tests for IntInfiniteList,
+ * LongInfiniteList and DoubleInfiniteList.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test10 {
+  /**
+   * Main method for Test10.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).toString()",
+        () -> IntInfiniteList.iterate(1, x -> x + 1).toString(), "[[1] ?]");
+    i.expectReturn("IntInfiniteList.generate(() -> 1).map(x -> x * 2).toString()",
+        () -> IntInfiniteList.generate(() -> 1).map(x -> x * 2).toString(), "[? ?]");
+    i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).map(x -> x * x).tail().head()",
+        () -> IntInfiniteList.iterate(1, x -> x + 1).map(x -> x * x).tail().head(), 4);
+    i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).limit(4).toArray().length",
+        () -> IntInfiniteList.iterate(1, x -> x + 1).limit(4).toArray().length, 4);
+    i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).takeWhile(x -> x < 5)" +
+        ".reduce(0, (x, y) -> x + y)",
+        () -> IntInfiniteList.iterate(1, x -> x + 1).takeWhile(x -> x < 5)
+        .reduce(0, (x, y) -> x + y), 10);
+    i.expectReturn("IntInfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 1).limit(10)" +
+        ".count()",
+        () -> IntInfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 1).limit(10).count(),
+        10L);
+    i.expectReturn("IntInfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 2 == 1)" +
+        ".boxed().toList()",
+        () -> IntInfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 2 == 1)
+        .boxed().toList(), List.of(1, 3, 5, 7, 9));
+    i.expectReturn("InfiniteList.iterate(\"A\", s -> s + \"Z\").mapToInt(s -> s.length())" +
+        ".limit(3).toArray()[2]",
+        () -> InfiniteList.iterate("A", s -> s + "Z").mapToInt(s -> s.length())
+        .limit(3).toArray()[2], 3);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 3 == 0)" +
+        ".mapToLong(x -> x * 1_000_000_000L).head()",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 3 == 0)
+        .mapToLong(x -> x * 1_000_000_000L).head(), 3_000_000_000L);
+    i.expectReturn("LongInfiniteList.iterate(1, x -> x + 1).limit(1_000_000)" +
+        ".reduce(0, (x, y) -> x + y)",
+        () -> LongInfiniteList.iterate(1, x -> x + 1).limit(1_000_000)
+        .reduce(0, (x, y) -> x + y), 500_000_500_000L);
+    i.expectReturn("DoubleInfiniteList.iterate(1, x -> x / 2).limit(3).toString() after count()",
+        () -> {
+          DoubleInfiniteList halves = DoubleInfiniteList.iterate(1, x -> x / 2).limit(3);
+          halves.count();
+          return halves.toString();
+        }, "[[1.0] [[0.5] [[0.25] -]]]");
+    i.expectException("IntInfiniteList.iterate(1, x -> x + 1).takeWhile(x -> x < 0).head()",
+        () -> IntInfiniteList.iterate(1, x -> x + 1).takeWhile(x -> x < 0).head(),
+        new java.util.NoSuchElementException());
+    i.expectReturn("IntInfiniteList.sentinel().map(x -> 2).isSentinel()",
+        () -> IntInfiniteList.sentinel().map(x -> 2).isSentinel(), true);
+
+    List<Integer> incrHistory = new ArrayList<>();
+    List<Integer> isEvenHistory = new ArrayList<>();
+    IntTransformer incr = x -> {
+      incrHistory.add(x);
+      return x + 1;
+    };
+    IntBooleanCondition isEven = x -> {
+      isEvenHistory.add(x);
+      return x % 2 == 0;
+    };
+
+    IntInfiniteList nums = IntInfiniteList.iterate(1, incr);
+    IntInfiniteList evens = nums.filter(isEven);
+    evens.tail().head();
+    i.expect("IntInfiniteList nums = IntInfiniteList.iterate(1, x -> x + 1)\n" +
+        "IntInfiniteList evens = nums.filter(x -> x % 2 == 0)\n" +
+        "After evens.tail().head()\n" +
+        " ..nums.toString() returns [[1] [[2] [[3] [[4] ?]]]]",
+        nums.toString(), "[[1] [[2] [[3] [[4] ?]]]]");
+    i.expect(" ..evens.toString() returns [[] [[2] [[] [[4] ?]]]]",
+        evens.toString(), "[[] [[2] [[] [[4] ?]]]]");
+    i.expect(" ..causes three evals on x -> x + 1",
+        incrHistory, List.of(1, 2, 3));
+    i.expect(" ..causes four evals on x -> x % 2 == 0",
+        isEvenHistory, List.of(1, 2, 3, 4));
+    evens.tail().head();
+    i.expect(" ..calling evens.tail().head() again causes zero evaluation",
+        isEvenHistory, List.of(1, 2, 3, 4));
+  }
+}
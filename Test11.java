@@ -0,0 +1,81 @@
+import cs2030s.fp.DoubleLazy;
+import cs2030s.fp.DoubleMaybe;
+import cs2030s.fp.IntLazy;
+import cs2030s.fp.IntMaybe;
+import cs2030s.fp.Lazy;
+import cs2030s.fp.LongLazy;
+import cs2030s.fp.Maybe;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test 11 for CS2030S Lab 7.  Tests for the primitive Lazy and
+ * Maybe classes and their conversions to and from Lazy and Maybe.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test11 {
+  /**
+   * Main method for Test11.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    List<Integer> producerHistory = new ArrayList<>();
+    IntLazy seven = IntLazy.of(() -> {
+      producerHistory.add(7);
+      return 7;
+    });
+    i.expectReturn("IntLazy.of(() -> 7).toString()", () -> seven.toString(), "?");
+    IntLazy fourteen = seven.map(x -> x * 2);
+    i.expect("IntLazy.of(() -> 7).map(x -> x * 2) causes zero evaluation",
+        producerHistory, List.of());
+    i.expectReturn("IntLazy.of(() -> 7).map(x -> x * 2).get()", () -> fourteen.get(), 14);
+    i.expectReturn("IntLazy.of(() -> 7).get()", () -> seven.get(), 7);
+    i.expect(" ..causes one evaluation of () -> 7", producerHistory, List.of(7));
+    i.expectReturn("IntLazy.of(() -> 7).toString() after get()", () -> seven.toString(), "7");
+
+    i.expectReturn("IntLazy.of(3).combine(IntLazy.of(4), (x, y) -> x * y).get()",
+        () -> IntLazy.of(3).combine(IntLazy.of(4), (x, y) -> x * y).get(), 12);
+    i.expectReturn("IntLazy.of(3).flatMap(x -> IntLazy.of(x + 1)).get()",
+        () -> IntLazy.of(3).flatMap(x -> IntLazy.of(x + 1)).get(), 4);
+    i.expectReturn("IntLazy.of(3).filter(x -> x > 2).get()",
+        () -> IntLazy.of(3).filter(x -> x > 2).get(), true);
+    i.expectReturn("IntLazy.of(() -> 7).test(x -> x > 2)",
+        () -> IntLazy.of(() -> 7).test(x -> x > 2), true);
+    i.expectReturn("LongLazy.of(3).test(x -> x > 3)", () -> LongLazy.of(3).test(x -> x > 3), false);
+    i.expectReturn("DoubleLazy.of(0.5).test(x -> x < 1)",
+        () -> DoubleLazy.of(0.5).test(x -> x < 1), true);
+    i.expectReturn("IntLazy.of(3).mapToObj(x -> \"#\" + x).get()",
+        () -> IntLazy.of(3).mapToObj(x -> "#" + x).get(), "#3");
+    i.expectReturn("Lazy.of(\"hello\").mapToInt(s -> s.length()).get()",
+        () -> Lazy.of("hello").mapToInt(s -> s.length()).get(), 5);
+    i.expectReturn("Lazy.of(\"hello\").mapToLong(s -> s.length()).boxed().get()",
+        () -> Lazy.of("hello").mapToLong(s -> s.length()).boxed().get(), 5L);
+    i.expectReturn("LongLazy.of(2).equals(LongLazy.of(() -> 2))",
+        () -> LongLazy.of(2).equals(LongLazy.of(() -> 2)), true);
+
+    i.expectReturn("IntMaybe.some(4).filter(x -> x % 2 == 0).map(x -> x + 1).orElse(0)",
+        () -> IntMaybe.some(4).filter(x -> x % 2 == 0).map(x -> x + 1).orElse(0), 5);
+    i.expectReturn("IntMaybe.some(3).filter(x -> x % 2 == 0).orElseGet(() -> -1)",
+        () -> IntMaybe.some(3).filter(x -> x % 2 == 0).orElseGet(() -> -1), -1);
+    i.expectReturn("IntMaybe.none().toString()", () -> IntMaybe.none().toString(), "[]");
+    i.expectReturn("IntMaybe.some(3).flatMap(x -> IntMaybe.none())",
+        () -> IntMaybe.some(3).flatMap(x -> IntMaybe.none()), IntMaybe.none());
+    i.expectReturn("IntMaybe.some(3).boxed()", () -> IntMaybe.some(3).boxed(), Maybe.some(3));
+    i.expectReturn("Maybe.some(\"abc\").mapToInt(s -> s.length())",
+        () -> Maybe.some("abc").mapToInt(s -> s.length()), IntMaybe.some(3));
+    i.expectReturn("Maybe.<String>none().mapToDouble(s -> s.length())",
+        () -> Maybe.<String>none().mapToDouble(s -> s.length()), DoubleMaybe.none());
+    i.expectReturn("DoubleMaybe.some(0.5).mapToObj(x -> x * 4)",
+        () -> DoubleMaybe.some(0.5).mapToObj(x -> x * 4), Maybe.some(2.0));
+
+    List<Integer> consumed = new ArrayList<>();
+    IntMaybe.some(8).ifPresent(x -> consumed.add(x));
+    IntMaybe.none().ifPresent(x -> consumed.add(x));
+    i.expect("IntMaybe.some(8).ifPresent(...) and IntMaybe.none().ifPresent(...)\n" +
+        " ..consumes only 8", consumed, List.of(8));
+  }
+}
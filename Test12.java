@@ -0,0 +1,103 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Transformer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Test 12 for CS2030S Lab 7.  Tests that a chunked InfiniteList has
+ * the same items as the list it is made from, and is lazy per chunk.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test12 {
+  /**
+   * Main method for Test12.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).toList(),
+        List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).map(x -> x * 2)" +
+        ".filter(x -> x % 3 == 0).limit(3).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).map(x -> x * 2)
+        .filter(x -> x % 3 == 0).limit(3).toList(),
+        List.of(6, 12, 18));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 5 == 0).chunked(3)" +
+        ".takeWhile(x -> x < 40).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 5 == 0).chunked(3)
+        .takeWhile(x -> x < 40).toList(),
+        List.of(5, 10, 15, 20, 25, 30, 35));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).tail().tail().tail().tail()" +
+        ".head()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).tail().tail().tail().tail().head(),
+        5);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).chunked(64).limit(1_000_000)" +
+        ".filter(x -> x % 2 == 1).count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).chunked(64).limit(1_000_000)
+        .filter(x -> x % 2 == 1).count(), 500_000L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(8).limit(5)" +
+        ".reduce(0, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(8).limit(5).reduce(0, (x, y) -> x + y),
+        15);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(8).mapToInt(x -> x).limit(3)" +
+        ".toArray().length",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(8).mapToInt(x -> x).limit(3)
+        .toArray().length, 3);
+    i.expectReturn("InfiniteList.<Integer>sentinel().chunked(4).isSentinel()",
+        () -> InfiniteList.<Integer>sentinel().chunked(4).isSentinel(), true);
+    i.expectException("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(2).filter(x -> x > 5)" +
+        ".head()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(2).filter(x -> x > 5).head(),
+        new java.util.NoSuchElementException());
+    i.expectException("InfiniteList.iterate(1, x -> x + 1).chunked(0)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(0),
+        new IllegalArgumentException());
+
+    List<Integer> incrHistory = new ArrayList<>();
+    Transformer<Integer, Integer> incr = x -> {
+      incrHistory.add(x);
+      return x + 1;
+    };
+    InfiniteList<Integer> chunked = InfiniteList.iterate(1, incr).chunked(4).map(x -> x * 10);
+    i.expect("InfiniteList.iterate(1, x -> x + 1).chunked(4).map(x -> x * 10)\n" +
+        " ..causes zero evaluation of x -> x + 1", incrHistory, List.of());
+    i.expect(" ..head() returns 10", chunked.head(), 10);
+    i.expect(" ..head() evaluates the first chunk of four items",
+        incrHistory, List.of(1, 2, 3, 4));
+    chunked.tail().tail().tail().head();
+    i.expect(" ..tail().tail().tail().head() causes zero further evaluation",
+        incrHistory, List.of(1, 2, 3, 4));
+    Iterator<Integer> items = chunked.iterator();
+    for (int k = 0; k < 4; k++) {
+      items.next();
+    }
+    i.expect(" ..iterator() then next() four times causes zero further evaluation",
+        incrHistory, List.of(1, 2, 3, 4));
+    i.expect(" ..then next() returns 50 and evaluates the second chunk",
+        items.next(), 50);
+    i.expect(" ..which has four more items", incrHistory, List.of(1, 2, 3, 4, 5, 6, 7, 8));
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).findFirst(x -> x > 9)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).findFirst(x -> x > 9).toString(),
+        "[10]");
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).anyMatch(x -> x == 7)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).anyMatch(x -> x == 7), true);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10)" +
+        ".max(Integer::compare)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10)
+        .max(Integer::compare).toString(), "[10]");
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(3).limit(100).tail()" +
+        ".parallelReduce(0, Integer::sum, Integer::sum)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(3).limit(100).tail()
+        .parallelReduce(0, Integer::sum, Integer::sum), 5049);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(3).limit(100)" +
+        ".parallelReduce(\"\", (s, x) -> s + x, String::concat).length()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(3).limit(100)
+        .parallelReduce("", (s, x) -> s + x, String::concat).length(), 192);
+  }
+}
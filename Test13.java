@@ -0,0 +1,97 @@
+import cs2030s.fp.BooleanCondition;
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Transformer;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test 13 for CS2030S Lab 7.  Tests for fused map and filter
+ * stages on InfiniteList.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test13 {
+  /**
+   * Main method for Test13.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    List<String> history = new ArrayList<>();
+    Transformer<Integer, Integer> doubler = x -> {
+      history.add("f" + x);
+      return x * 2;
+    };
+    BooleanCondition<Integer> moreThan4 = x -> {
+      history.add("p" + x);
+      return x > 4;
+    };
+    Transformer<Integer, Integer> incr = x -> {
+      history.add("g" + x);
+      return x + 1;
+    };
+
+    InfiniteList<Integer> fused = InfiniteList.iterate(1, x -> x + 1).fused()
+        .map(doubler).filter(moreThan4).map(incr);
+    i.expect("InfiniteList.iterate(1, x -> x + 1).fused().map(x -> x * 2).filter(x -> x > 4)" +
+        ".map(x -> x + 1)\n" +
+        " ..toString() returns [? ?]", fused.toString(), "[? ?]");
+    i.expect(" ..head() returns 7", fused.head(), 7);
+    i.expect(" ..evaluates each item through every stage in turn",
+        history, List.of("f1", "p2", "f2", "p4", "f3", "p6", "g6"));
+    i.expect(" ..toString() returns [[] [[] [[7] ?]]]",
+        fused.toString(), "[[] [[] [[7] ?]]]");
+    history.retainAll(List.of());
+    fused.head();
+    i.expect(" ..head() again causes zero evaluation", history, List.of());
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).fused().map(x -> x * 2).tail()" +
+        ".filter(x -> x > 4).map(x -> x + 1).limit(3).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).fused().map(x -> x * 2).tail()
+        .filter(x -> x > 4).map(x -> x + 1).limit(3).toList(), List.of(7, 9, 11));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(3).fused().map(x -> x * 2)" +
+        ".filter(x -> x > 2).map(x -> x + 1).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(3).fused().map(x -> x * 2)
+        .filter(x -> x > 2).map(x -> x + 1).toList(), List.of(5, 7));
+
+    InfiniteList<Integer> doubled = InfiniteList.iterate(1, x -> x + 1).fused().map(x -> x * 2);
+    doubled.limit(3).toList();
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).fused().map(x -> x * 2) after traversal\n" +
+        " ..map(x -> x + 1).limit(3).toList()",
+        () -> doubled.map(x -> x + 1).limit(3).toList(), List.of(3, 5, 7));
+
+    InfiniteList<Integer> nums = InfiniteList.iterate(1, x -> x + 1);
+    WeakReference<InfiniteList<Integer>> numsRef = new WeakReference<>(nums);
+    InfiniteList<Integer> evens = nums.fused().map(x -> x * 2).filter(x -> x % 4 == 0);
+    evens.tail().head();
+    nums = null;
+    for (int round = 0; round < 3; round++) {
+      System.gc();
+    }
+    i.expect("InfiniteList<Integer> evens = nums.fused().map(x -> x * 2)" +
+        ".filter(x -> x % 4 == 0)\n" +
+        " ..after evens.tail().head(), nums is released", numsRef.get(), null);
+
+    history.retainAll(List.of());
+    InfiniteList<Integer> twos = InfiniteList.iterate(1, x -> x + 1).map(doubler);
+    twos.head();
+    i.expect("InfiniteList<Integer> twos = InfiniteList.iterate(1, x -> x + 1).map(x -> x * 2)\n" +
+        " ..twos.head() returns 2", twos.head(), 2);
+    i.expect(" ..then twos.filter(x -> x > 0).head() returns 2",
+        twos.filter(x -> x > 0).head(), 2);
+    i.expect(" ..evaluates x * 2 on 1 once", history, List.of("f1"));
+    history.retainAll(List.of());
+    InfiniteList<Integer> fours = InfiniteList.iterate(1, x -> x + 1).map(doubler);
+    InfiniteList<Integer> eights = fours.map(x -> x * 2);
+    eights.limit(3).toList();
+    fours.limit(3).toList();
+    i.expect("InfiniteList<Integer> fours = InfiniteList.iterate(1, x -> x + 1).map(x -> x * 2)\n" +
+        " ..fours.map(x -> x * 2).limit(3).toList() then fours.limit(3).toList()" +
+        " evaluates x * 2 once on each", history, List.of("f1", "f2", "f3"));
+    i.expect("InfiniteList.sentinel().fused() is InfiniteList.sentinel()",
+        InfiniteList.sentinel().fused() == InfiniteList.sentinel(), true);
+  }
+}
@@ -0,0 +1,55 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Transformer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Test 14 for CS2030S Lab 7.  Tests for InfiniteList parallelReduce().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test14 {
+  /**
+   * Main method for Test14.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("InfiniteList.sentinel().parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y)",
+        () -> InfiniteList.<Integer>sentinel().parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y),
+        0);
+    i.expectReturn("InfiniteList.iterate(1L, x -> x + 1).limit(100_000)" +
+        ".parallelReduce(0L, (x, y) -> x + y, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(1L, x -> x + 1).limit(100_000)
+        .parallelReduce(0L, (x, y) -> x + y, (x, y) -> x + y), 5_000_050_000L);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).map(x -> \"\" + x % 10).limit(1000)" +
+        ".parallelReduce(\"\", (s, x) -> s + x, (s, t) -> s + t)" +
+        " equals reduce(\"\", (s, x) -> s + x)",
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> "" + x % 10).limit(1000)
+        .parallelReduce("", (s, x) -> s + x, (s, t) -> s + t)
+        .equals(InfiniteList.iterate(0, x -> x + 1).map(x -> "" + x % 10).limit(1000)
+            .reduce("", (s, x) -> s + x)), true);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(1000)" +
+        ".parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(1000)
+        .parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y), 1498500);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).chunked(16).limit(1000)" +
+        ".parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(0, x -> x + 1).chunked(16).limit(1000)
+        .parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y), 499500);
+
+    Set<Integer> mapped = ConcurrentHashMap.newKeySet();
+    Transformer<Integer, Integer> square = x -> {
+      mapped.add(x);
+      return x * x;
+    };
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).map(x -> x * x).limit(100)" +
+        ".parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(1, x -> x + 1).map(square).limit(100)
+        .parallelReduce(0, (x, y) -> x + y, (x, y) -> x + y), 338350);
+    i.expect(" ..evaluates x -> x * x on exactly the first 100 items",
+        mapped.size() == 100 && mapped.stream().allMatch(x -> x >= 1 && x <= 100), true);
+  }
+}
@@ -0,0 +1,111 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Transformer;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test 15 for CS2030S Lab 7.  Tests for InfiniteList spliterator(), stream(),
+ * parallelStream() and fromStream().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test15 {
+  /**
+   * Main method for Test15.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("InfiniteList.sentinel().stream().count()",
+        () -> InfiniteList.sentinel().stream().count(), 0L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).stream().limit(5).collect(toList())",
+        () -> InfiniteList.iterate(1, x -> x + 1).stream().limit(5)
+        .collect(Collectors.toList()), List.of(1, 2, 3, 4, 5));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(3)" +
+        ".stream().collect(toList())",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(3).stream()
+        .collect(Collectors.toList()), List.of(2, 4, 6));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).stream()" +
+        ".collect(toList())",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).stream()
+        .collect(Collectors.toList()), List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).map(x -> x * 2).limit(10)" +
+        ".spliterator().hasCharacteristics(ORDERED | SIZED)",
+        () -> InfiniteList.iterate(1, x -> x + 1).map(x -> x * 2).limit(10).spliterator()
+        .hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED), true);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).map(x -> x * 2).limit(10)" +
+        ".spliterator().getExactSizeIfKnown()",
+        () -> InfiniteList.iterate(1, x -> x + 1).map(x -> x * 2).limit(10).spliterator()
+        .getExactSizeIfKnown(), 10L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(20).limit(10)" +
+        ".spliterator().getExactSizeIfKnown()",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(20).limit(10).spliterator()
+        .getExactSizeIfKnown(), 10L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).spliterator().hasCharacteristics(SIZED)",
+        () -> InfiniteList.iterate(1, x -> x + 1).spliterator()
+        .hasCharacteristics(Spliterator.SIZED), false);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(10)" +
+        ".spliterator().hasCharacteristics(SIZED)",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(10)
+        .spliterator().hasCharacteristics(Spliterator.SIZED), false);
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(100_000).parallelStream()" +
+        ".mapToLong(x -> x).sum()",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(100_000).parallelStream()
+        .mapToLong(x -> x).sum(), 5_000_050_000L);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(1000)" +
+        ".parallelStream().collect(toList()) equals toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(1000)
+        .parallelStream().collect(Collectors.toList())
+        .equals(InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(1000)
+            .toList()), true);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).parallelStream().limit(5000)" +
+        ".collect(toList()).get(4999)",
+        () -> InfiniteList.iterate(0, x -> x + 1).parallelStream().limit(5000)
+        .collect(Collectors.toList()).get(4999), 4999);
+
+    AtomicInteger evalCount = new AtomicInteger();
+    Transformer<Integer, Integer> square = x -> {
+      evalCount.incrementAndGet();
+      return x * x;
+    };
+    InfiniteList<Integer> squares = InfiniteList.iterate(1, x -> x + 1).map(square).limit(5000);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).map(x -> x * x).limit(5000)" +
+        ".parallelStream().mapToLong(x -> x).sum()",
+        () -> squares.parallelStream().mapToLong(x -> x).sum(), 41679167500L);
+    i.expectReturn(" ..then .stream().mapToLong(x -> x).sum()",
+        () -> squares.stream().mapToLong(x -> x).sum(), 41679167500L);
+    i.expect(" ..evaluates x -> x * x exactly 5000 times", evalCount.get(), 5000);
+
+    i.expectReturn("InfiniteList.fromStream(Stream.of(1, 2, 3)).toList()",
+        () -> InfiniteList.fromStream(Stream.of(1, 2, 3)).toList(), List.of(1, 2, 3));
+    i.expectReturn("InfiniteList.fromStream(Stream.empty()).toList()",
+        () -> InfiniteList.fromStream(Stream.empty()).toList(), List.of());
+    i.expectReturn("InfiniteList.fromStream(Stream.iterate(1, x -> x * 2)).limit(5).toList()",
+        () -> InfiniteList.fromStream(Stream.iterate(1, x -> x * 2)).limit(5).toList(),
+        List.of(1, 2, 4, 8, 16));
+    i.expectReturn("InfiniteList.fromStream(Stream.of(1, 2, 3)).map(x -> x + 1).stream()" +
+        ".collect(toList())",
+        () -> InfiniteList.fromStream(Stream.of(1, 2, 3)).map(x -> x + 1).stream()
+        .collect(Collectors.toList()), List.of(2, 3, 4));
+
+    AtomicInteger pulled = new AtomicInteger();
+    InfiniteList<Integer> fromStream = InfiniteList.fromStream(
+        Stream.iterate(1, x -> x + 1).peek(x -> pulled.incrementAndGet()));
+    i.expect("InfiniteList.fromStream(Stream.iterate(1, x -> x + 1)) pulls nothing",
+        pulled.get(), 0);
+    i.expectReturn(" ..then .head()", () -> fromStream.head(), 1);
+    i.expect(" ..pulls 1 item", pulled.get(), 1);
+    i.expectReturn(" ..then .tail().tail().head()", () -> fromStream.tail().tail().head(), 3);
+    i.expectReturn(" ..then .limit(3).toList()", () -> fromStream.limit(3).toList(),
+        List.of(1, 2, 3));
+    i.expect(" ..pulls 4 items, as the tail of the last item checks for a next one",
+        pulled.get(), 4);
+  }
+}
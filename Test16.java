@@ -0,0 +1,103 @@
+import cs2030s.fp.InfiniteList;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Test 16 for CS2030S Lab 7.  Tests for InfiniteList iterator() and
+ * iterable().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test16 {
+  /**
+   * Main method for Test16.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("InfiniteList.sentinel().iterator().hasNext()",
+        () -> InfiniteList.sentinel().iterator().hasNext(), false);
+    i.expectException("InfiniteList.sentinel().iterator().next()",
+        () -> InfiniteList.sentinel().iterator().next(), new NoSuchElementException());
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(5).iterator() collects",
+        () -> Test16.collect(InfiniteList.iterate(1, x -> x + 1).limit(5).iterator()),
+        List.of(1, 2, 3, 4, 5));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 3 == 0).limit(4)" +
+        ".iterator() collects",
+        () -> Test16.collect(InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 3 == 0)
+            .limit(4).iterator()), List.of(3, 6, 9, 12));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(10).filter(x -> x > 10)" +
+        ".iterator().hasNext()",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(10).filter(x -> x > 10).iterator()
+        .hasNext(), false);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(3).limit(7).iterator() collects",
+        () -> Test16.collect(InfiniteList.iterate(1, x -> x + 1).chunked(3).limit(7)
+            .iterator()), List.of(1, 2, 3, 4, 5, 6, 7));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 100_000 == 0)" +
+        ".limit(3).iterator() collects",
+        () -> Test16.collect(InfiniteList.iterate(1, x -> x + 1)
+            .filter(x -> x % 100_000 == 0).limit(3).iterator()),
+        List.of(100_000, 200_000, 300_000));
+
+    i.expectReturn("for (int x : InfiniteList.iterable(() -> InfiniteList.iterate(1, " +
+        "x -> x + 1).limit(1_000_000))) sum += x",
+        () -> {
+          long sum = 0;
+          for (int x : InfiniteList.iterable(() -> InfiniteList.iterate(1, x -> x + 1)
+              .limit(1_000_000))) {
+            sum += x;
+          }
+          return sum;
+        }, 500_000_500_000L);
+
+    AtomicInteger pulled = new AtomicInteger();
+    Iterator<Integer> fromStream = InfiniteList.fromStream(
+        Stream.iterate(1, x -> x + 1).peek(x -> pulled.incrementAndGet())).iterator();
+    i.expectReturn("InfiniteList.fromStream(Stream.iterate(1, x -> x + 1)).iterator().next()",
+        () -> fromStream.next(), 1);
+    i.expect(" ..pulls 1 item", pulled.get(), 1);
+
+    InfiniteList<Integer> nums = InfiniteList.iterate(0, x -> x + 1);
+    WeakReference<InfiniteList<Integer>> numsRef = new WeakReference<>(nums);
+    Iterator<Integer> cursor = nums.map(x -> x * 2).iterator();
+    nums = null;
+    for (int k = 0; k < 1000; k++) {
+      cursor.next();
+    }
+    Test16.collectGarbage();
+    i.expect("Iterator<Integer> cursor = nums.map(x -> x * 2).iterator()\n" +
+        " ..after 1000 cursor.next(), nums is released", numsRef.get(), null);
+    i.expect(" ..cursor.next() then returns 2000", cursor.next(), 2000);
+  }
+
+  /**
+   * Collect the remaining items of an iterator into a list.
+   *
+   * @param <T> Parameterised type.
+   * @param iterator The iterator to collect.
+   * @return The list of remaining items.
+   */
+  private static <T> List<T> collect(Iterator<T> iterator) {
+    List<T> list = new ArrayList<>();
+    while (iterator.hasNext()) {
+      list.add(iterator.next());
+    }
+    return list;
+  }
+
+  /**
+   * Request a few rounds of garbage collection.
+   */
+  private static void collectGarbage() {
+    for (int round = 0; round < 3; round++) {
+      System.gc();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.MemoPolicy;
+import cs2030s.fp.Transformer;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test 17 for CS2030S Lab 7.  Tests for InfiniteList cache() and MemoPolicy.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test17 {
+  /**
+   * Main method for Test17.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expect("MemoPolicy.ALL", MemoPolicy.ALL.toString(), "ALL");
+    i.expect("MemoPolicy.NONE", MemoPolicy.NONE.toString(), "NONE");
+    i.expect("MemoPolicy.lastN(4)", MemoPolicy.lastN(4).toString(), "LAST_N(4)");
+    i.expectException("MemoPolicy.lastN(0)", () -> MemoPolicy.lastN(0),
+        new IllegalArgumentException());
+
+    InfiniteList<Integer> nums = InfiniteList.iterate(1, x -> x + 1);
+    i.expect("InfiniteList<Integer> nums = InfiniteList.iterate(1, x -> x + 1)\n" +
+        " ..nums.cache(MemoPolicy.ALL) == nums", nums.cache(MemoPolicy.ALL) == nums, true);
+    i.expectReturn("InfiniteList.sentinel().cache(MemoPolicy.NONE).isSentinel()",
+        () -> InfiniteList.sentinel().cache(MemoPolicy.NONE).isSentinel(), true);
+
+    for (MemoPolicy policy : List.of(MemoPolicy.ALL, MemoPolicy.NONE, MemoPolicy.lastN(2))) {
+      i.expectReturn("InfiniteList.iterate(1, x -> x + 1).cache(" + policy + ")" +
+          ".map(x -> x * 2).filter(x -> x % 3 == 0).limit(4).toList()",
+          () -> InfiniteList.iterate(1, x -> x + 1).cache(policy).map(x -> x * 2)
+          .filter(x -> x % 3 == 0).limit(4).toList(), List.of(6, 12, 18, 24));
+      i.expectReturn("InfiniteList.iterate(1, x -> x + 1).cache(" + policy + ")" +
+          ".takeWhile(x -> x < 5).chunked(2).toList()",
+          () -> InfiniteList.iterate(1, x -> x + 1).cache(policy).takeWhile(x -> x < 5)
+          .chunked(2).toList(), List.of(1, 2, 3, 4));
+      i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(3).cache(" + policy + ")" +
+          ".reduce(0, (x, y) -> x + y)",
+          () -> InfiniteList.iterate(1, x -> x + 1).limit(3).cache(policy)
+          .reduce(0, (x, y) -> x + y), 6);
+    }
+
+    int[] evalCount = new int[] { 0 };
+    Transformer<Integer, Integer> incr = x -> {
+      evalCount[0]++;
+      return x + 1;
+    };
+    InfiniteList<Integer> all = InfiniteList.iterate(1, x -> x).map(incr).limit(5);
+    all.toList();
+    all.toList();
+    i.expect("InfiniteList.iterate(1, x -> x).map(x -> x + 1).limit(5), toList() twice\n" +
+        " ..evaluates x -> x + 1 5 times", evalCount[0], 5);
+    evalCount[0] = 0;
+    InfiniteList<Integer> none = InfiniteList.iterate(1, x -> x).cache(MemoPolicy.NONE)
+        .map(incr).limit(5);
+    none.toList();
+    none.toList();
+    i.expect("InfiniteList.iterate(1, x -> x).cache(MemoPolicy.NONE).map(x -> x + 1)" +
+        ".limit(5), toList() twice\n" +
+        " ..evaluates x -> x + 1 10 times", evalCount[0], 10);
+    evalCount[0] = 0;
+    InfiniteList<Integer> recent = InfiniteList.iterate(1, x -> x).cache(MemoPolicy.lastN(2))
+        .map(incr);
+    recent.head();
+    recent.head();
+    i.expect("InfiniteList.iterate(1, x -> x).cache(MemoPolicy.lastN(2)).map(x -> x + 1)" +
+        ", head() twice\n" +
+        " ..evaluates x -> x + 1 once", evalCount[0], 1);
+    recent.limit(100).toList();
+    evalCount[0] = 0;
+    recent.head();
+    i.expect(" ..then limit(100).toList() and head()\n" +
+        " ..evaluates x -> x + 1 once more", evalCount[0], 1);
+
+    i.expect("InfiniteList.iterate(0, x -> x + 1).map(x -> new Object()).limit(1000)" +
+        ", reduce()\n" +
+        " ..keeps 1000 items reachable", Test17.reachable(MemoPolicy.ALL), 1000);
+    i.expect("InfiniteList.iterate(0, x -> x + 1).cache(MemoPolicy.NONE)" +
+        ".map(x -> new Object()).limit(1000), reduce()\n" +
+        " ..keeps no items reachable", Test17.reachable(MemoPolicy.NONE), 0);
+    i.expect("InfiniteList.iterate(0, x -> x + 1).cache(MemoPolicy.lastN(10))" +
+        ".map(x -> new Object()).limit(1000), reduce()\n" +
+        " ..keeps at most 20 items reachable", Test17.reachable(MemoPolicy.lastN(10)) <= 20,
+        true);
+  }
+
+  /**
+   * Count the items of a list with the given policy that are still
+   * reachable after reducing the list, while the list itself is kept.
+   *
+   * @param policy The memoization policy.
+   * @return The number of items still reachable.
+   */
+  private static int reachable(MemoPolicy policy) {
+    List<WeakReference<Object>> refs = new ArrayList<>();
+    InfiniteList<Object> list = InfiniteList.iterate(0, x -> x + 1).cache(policy)
+        .map(x -> {
+          Object item = new Object();
+          refs.add(new WeakReference<>(item));
+          return item;
+        }).limit(1000);
+    list.reduce(0, (n, x) -> n + 1);
+    for (int round = 0; round < 3; round++) {
+      System.gc();
+    }
+    int count = 0;
+    for (WeakReference<Object> ref : refs) {
+      count += ref.get() == null ? 0 : 1;
+    }
+    return list.isSentinel() ? -1 : count;
+  }
+}
@@ -0,0 +1,90 @@
+import cs2030s.fp.Lazy;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 18 for CS2030S Lab 7.  Tests for Lazy.async().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test18 {
+  private static final long DELAY = 300;
+
+  /**
+   * Main method for Test18.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    CS2030STest i = new CS2030STest();
+
+    CountDownLatch started = new CountDownLatch(1);
+    Lazy<Integer> eager = Lazy.async(() -> {
+      started.countDown();
+      return 42;
+    });
+    i.expect("Lazy.async(() -> 42) starts without get()",
+        started.await(5, TimeUnit.SECONDS), true);
+    i.expectReturn(" ..then .get()", () -> eager.get(), 42);
+    i.expectReturn(" ..then .toString()", () -> eager.toString(), "42");
+
+    i.expectReturn("Lazy.async(() -> 1).map(x -> x + 1).get()",
+        () -> Lazy.async(() -> 1).map(x -> x + 1).get(), 2);
+    i.expectReturn("Lazy.async(() -> 1).flatMap(x -> Lazy.async(() -> x + 1)).get()",
+        () -> Lazy.async(() -> 1).flatMap(x -> Lazy.async(() -> x + 1)).get(), 2);
+    i.expectReturn("Lazy.async(() -> 1).flatMap(x -> Lazy.of(() -> x + 1)).get()",
+        () -> Lazy.async(() -> 1).flatMap(x -> Lazy.of(() -> x + 1)).get(), 2);
+    i.expectReturn("Lazy.async(() -> 1).combine(Lazy.of(2), (x, y) -> x + y).get()",
+        () -> Lazy.async(() -> 1).<Integer, Integer>combine(Lazy.of(2), (x, y) -> x + y).get(),
+        3);
+    i.expectReturn("Lazy.async(() -> 4).filter(x -> x % 2 == 0).get()",
+        () -> Lazy.async(() -> 4).filter(x -> x % 2 == 0).get(), true);
+    i.expectReturn("Lazy.async(() -> 4, Runnable::run).get()",
+        () -> Lazy.async(() -> 4, Runnable::run).get(), 4);
+    i.expectException("Lazy.async(() -> throw new IllegalStateException()).get()",
+        () -> Lazy.async(() -> {
+          throw new IllegalStateException();
+        }).get(), new IllegalStateException());
+
+    AtomicInteger evals = new AtomicInteger();
+    Lazy<Integer> once = Lazy.async(() -> evals.incrementAndGet());
+    once.get();
+    once.get();
+    once.map(x -> x + 1).get();
+    i.expect("Lazy.async(() -> count).get() twice and .map(x -> x + 1).get()\n" +
+        " ..evaluates the producer once", evals.get(), 1);
+
+    long start = System.nanoTime();
+    Lazy<Integer> slow = Lazy.async(() -> Test18.sleep(1));
+    Lazy<Integer> mapped = slow.map(x -> x + 1);
+    Lazy<Integer> combined = mapped.combine(slow, (x, y) -> x + y);
+    long composing = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    i.expect("Lazy.async(slow).map(x -> x + 1).combine(slow, (x, y) -> x + y)\n" +
+        " ..returns before slow is evaluated", composing < DELAY, true);
+    i.expectReturn(" ..then .get()", () -> combined.get(), 3);
+
+    start = System.nanoTime();
+    Lazy<Integer> first = Lazy.async(() -> Test18.sleep(1));
+    Lazy<Integer> second = Lazy.async(() -> Test18.sleep(2));
+    int sum = first.combine(second, (x, y) -> x + y).get();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    i.expect("Lazy.async(slow1).combine(Lazy.async(slow2), (x, y) -> x + y).get()", sum, 3);
+    i.expect(" ..overlaps slow1 and slow2", elapsed < 2 * DELAY, true);
+  }
+
+  /**
+   * Sleep for DELAY milliseconds and return the given value.
+   *
+   * @param value The value to return.
+   * @return The value.
+   */
+  private static int sleep(int value) {
+    try {
+      Thread.sleep(DELAY);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+}
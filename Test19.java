@@ -0,0 +1,112 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Producer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 19 for CS2030S Lab 7.  Tests for InfiniteList.generate() with
+ * read-ahead prefetching.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test19 {
+  private static final long DELAY = 20;
+  private static final int ITEMS = 20;
+
+  /**
+   * Main method for Test19.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    CS2030STest i = new CS2030STest();
+
+    i.expectException("InfiniteList.generate(() -> 1, 0)",
+        () -> InfiniteList.generate(() -> 1, 0), new IllegalArgumentException());
+
+    AtomicInteger counter = new AtomicInteger();
+    i.expectReturn("InfiniteList.generate(() -> counter++, 4).limit(10).toList()",
+        () -> InfiniteList.generate(() -> counter.getAndIncrement(), 4).limit(10).toList(),
+        List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    i.expectReturn("InfiniteList.generate(() -> 1, 4).map(x -> x * 2).limit(3).toList()",
+        () -> InfiniteList.generate(() -> 1, 4).map(x -> x * 2).limit(3).toList(),
+        List.of(2, 2, 2));
+
+    AtomicInteger produced = new AtomicInteger();
+    InfiniteList<Integer> ahead = InfiniteList.generate(() -> produced.incrementAndGet(), 3);
+    Thread.sleep(200);
+    i.expect("InfiniteList.generate(() -> count, 3)\n" +
+        " ..produces nothing before it is used", produced.get(), 0);
+    i.expectReturn(" ..then .head()", () -> ahead.head(), 1);
+    Thread.sleep(200);
+    i.expect(" ..produces 4 items in the background", produced.get(), 4);
+    i.expectReturn(" ..then .tail().tail().head()", () -> ahead.tail().tail().head(), 3);
+    Thread.sleep(200);
+    i.expect(" ..produces 6 items in the background", produced.get(), 6);
+
+    AtomicInteger calls = new AtomicInteger();
+    InfiniteList<Integer> failing = InfiniteList.generate(() -> {
+      int call = calls.incrementAndGet();
+      if (call == 2) {
+        throw new IllegalStateException();
+      }
+      return call;
+    }, 2);
+    i.expectReturn("InfiniteList.generate(() -> throws on 2nd call, 2).head()",
+        () -> failing.head(), 1);
+    i.expectException(" ..then .tail().head()", () -> failing.tail().head(),
+        new IllegalStateException());
+    i.expectException(" ..then .tail().head() again", () -> failing.tail().head(),
+        new IllegalStateException());
+    Thread.sleep(200);
+    i.expect(" ..still produces the items after it", calls.get(), 4);
+
+    long plain = Test19.consume(InfiniteList.generate(Test19.slow()));
+    long prefetched = Test19.consume(InfiniteList.generate(Test19.slow(), 4));
+    i.expect("Consuming " + ITEMS + " items of " + DELAY + " ms each from " +
+        "InfiniteList.generate(slow, 4)\n" +
+        " ..takes less than 3/4 of the time of InfiniteList.generate(slow)",
+        prefetched < plain * 3 / 4, true);
+  }
+
+  /**
+   * Create a producer that takes DELAY milliseconds per item.
+   *
+   * @return The producer.
+   */
+  private static Producer<Integer> slow() {
+    return () -> {
+      Test19.pause();
+      return 1;
+    };
+  }
+
+  /**
+   * Consume ITEMS items of a list, taking DELAY milliseconds per item.
+   *
+   * @param list The list to consume.
+   * @return The time taken in milliseconds.
+   */
+  private static long consume(InfiniteList<Integer> list) {
+    long start = System.nanoTime();
+    InfiniteList<Integer> curr = list;
+    for (int k = 0; k < ITEMS; k++) {
+      curr.head();
+      Test19.pause();
+      curr = curr.tail();
+    }
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  /**
+   * Sleep for DELAY milliseconds.
+   */
+  private static void pause() {
+    try {
+      Thread.sleep(DELAY);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Transformer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 20 for CS2030S Lab 7.  Tests for InfiniteList mapParallel().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test20 {
+  /**
+   * Main method for Test20.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    CS2030STest i = new CS2030STest();
+
+    i.expectException("InfiniteList.iterate(1, x -> x + 1).mapParallel(x -> x, 0)",
+        () -> InfiniteList.iterate(1, x -> x + 1).mapParallel(x -> x, 0),
+        new IllegalArgumentException());
+    i.expectReturn("InfiniteList.sentinel().mapParallel(x -> x, 4).isSentinel()",
+        () -> InfiniteList.sentinel().mapParallel(x -> x, 4).isSentinel(), true);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(0).mapParallel(x -> x, 4)" +
+        ".toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(0).mapParallel(x -> x, 4).toList(),
+        List.of());
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).mapParallel(x -> x * x, 4).limit(6)" +
+        ".toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).mapParallel(x -> x * x, 4).limit(6)
+        .toList(), List.of(1, 4, 9, 16, 25, 36));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(5)" +
+        ".mapParallel(x -> x + 1, 3).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(5)
+        .mapParallel(x -> x + 1, 3).toList(), List.of(3, 5, 7, 9, 11));
+    i.expectReturn("InfiniteList.iterate(10, x -> x - 1).limit(10)" +
+        ".mapParallel(x -> sleep(x) then x, 4).toList()",
+        () -> InfiniteList.iterate(10, x -> x - 1).limit(10)
+        .mapParallel(x -> Test20.sleep(x * 5, x), 4).toList(),
+        List.of(10, 9, 8, 7, 6, 5, 4, 3, 2, 1));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(20).mapParallel(x -> x, 4)" +
+        ".reduce(0, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(20).mapParallel(x -> x, 4)
+        .reduce(0, (x, y) -> x + y), 210);
+
+    AtomicInteger evals = new AtomicInteger();
+    InfiniteList<Integer> lazy = InfiniteList.iterate(1, x -> x + 1)
+        .mapParallel(x -> evals.incrementAndGet(), 4);
+    Thread.sleep(100);
+    i.expect("InfiniteList.iterate(1, x -> x + 1).mapParallel(x -> count, 4)\n" +
+        " ..evaluates nothing", evals.get(), 0);
+    lazy.head();
+    Thread.sleep(100);
+    i.expect(" ..then .head() evaluates 4 items", evals.get(), 4);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger most = new AtomicInteger();
+    Transformer<Integer, Integer> slow = x -> {
+      most.accumulateAndGet(running.incrementAndGet(), Math::max);
+      Test20.sleep(20, x);
+      running.decrementAndGet();
+      return x;
+    };
+    InfiniteList.iterate(1, x -> x + 1).mapParallel(slow, 4).limit(40).toList();
+    i.expect("InfiniteList.iterate(1, x -> x + 1).mapParallel(slow, 4).limit(40).toList()\n" +
+        " ..runs more than one at a time", most.get() > 1, true);
+    i.expect(" ..runs at most 4 at a time", most.get() <= 4, true);
+
+    InfiniteList<Integer> failing = InfiniteList.iterate(1, x -> x + 1)
+        .mapParallel(x -> 10 / (2 - x), 2);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).mapParallel(x -> 10 / (2 - x), 2)" +
+        ".head()", () -> failing.head(), 10);
+    i.expectException(" ..then .tail().head()", () -> failing.tail().head(),
+        new ArithmeticException());
+  }
+
+  /**
+   * Sleep for the given time and return the given value.
+   *
+   * @param millis The time to sleep, in milliseconds.
+   * @param value The value to return.
+   * @return The value.
+   */
+  private static int sleep(long millis, int value) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+}
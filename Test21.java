@@ -0,0 +1,90 @@
+import cs2030s.fp.InfiniteList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Test 21 for CS2030S Lab 7.  Tests for InfiniteList.fromFile().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test21 {
+  /**
+   * Main method for Test21.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws IOException {
+    CS2030STest i = new CS2030STest();
+
+    Path empty = Test21.file("");
+    i.expectReturn("InfiniteList.fromFile(\"\", decode).isSentinel()",
+        () -> InfiniteList.fromFile(empty, Test21::decode).isSentinel(), true);
+
+    Path lines = Test21.file("alpha\nbeta\r\n\ngamma");
+    i.expectReturn("InfiniteList.fromFile(\"alpha\\nbeta\\r\\n\\ngamma\", decode).toList()",
+        () -> InfiniteList.fromFile(lines, Test21::decode).toList(),
+        List.of("alpha", "beta", "", "gamma"));
+    i.expectReturn("InfiniteList.fromFile(\"alpha\\nbeta\\r\\n\\ngamma\", decode, 3).toList()",
+        () -> InfiniteList.fromFile(lines, Test21::decode, 3).toList(),
+        List.of("alpha", "beta", "", "gamma"));
+    Path trailing = Test21.file("one\ntwo\n");
+    i.expectReturn("InfiniteList.fromFile(\"one\\ntwo\\n\", decode).toList()",
+        () -> InfiniteList.fromFile(trailing, Test21::decode).toList(), List.of("one", "two"));
+    i.expectReturn("InfiniteList.fromFile(\"one\\ntwo\\n\", buffer -> buffer.isReadOnly())" +
+        ".toList()",
+        () -> InfiniteList.fromFile(trailing, ByteBuffer::isReadOnly).toList(),
+        List.of(true, true));
+    i.expectReturn("InfiniteList.fromFile(\"one\\ntwo\\n\", decode).filter(x -> x.equals(" +
+        "\"two\")).head()",
+        () -> InfiniteList.fromFile(trailing, Test21::decode).filter(x -> x.equals("two"))
+        .head(), "two");
+
+    StringBuilder text = new StringBuilder();
+    for (int k = 0; k < 100_000; k++) {
+      text.append(k % 100 == 0 ? "x".repeat(5000) : "line " + k).append('\n');
+    }
+    Path large = Test21.file(text.toString());
+    List<String> expected = Files.readAllLines(large);
+    i.expectReturn("InfiniteList.fromFile(100000 lines, decode, 4096).toList()" +
+        " equals Files.readAllLines()",
+        () -> InfiniteList.fromFile(large, Test21::decode, 4096).toList().equals(expected),
+        true);
+    i.expectReturn("InfiniteList.fromFile(100000 lines, decode).count()",
+        () -> InfiniteList.fromFile(large, Test21::decode).count(), 100_000L);
+
+    i.expectException("InfiniteList.fromFile(missing, decode)",
+        () -> InfiniteList.fromFile(large.resolveSibling("missing-" + large.getFileName()),
+            Test21::decode), new UncheckedIOException(new NoSuchFileException("missing")));
+    i.expectException("InfiniteList.fromFile(path, decode, 0)",
+        () -> InfiniteList.fromFile(lines, Test21::decode, 0), new IllegalArgumentException());
+  }
+
+  /**
+   * Decode the bytes of a line as UTF-8.
+   *
+   * @param bytes The bytes of the line.
+   * @return The line.
+   */
+  private static String decode(ByteBuffer bytes) {
+    return StandardCharsets.UTF_8.decode(bytes).toString();
+  }
+
+  /**
+   * Write a temporary file that is deleted on exit.
+   *
+   * @param text The contents of the file.
+   * @return The path of the file.
+   * @throws IOException if the file cannot be written.
+   */
+  private static Path file(String text) throws IOException {
+    Path path = Files.createTempFile("test21", ".txt");
+    path.toFile().deleteOnExit();
+    return Files.writeString(path, text);
+  }
+}
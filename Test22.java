@@ -0,0 +1,95 @@
+import cs2030s.fp.InfiniteList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test 22 for CS2030S Lab 7.  Tests for InfiniteList.records().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test22 {
+  private static final int WIDTH = 12;
+
+  /**
+   * Main method for Test22.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws IOException {
+    CS2030STest i = new CS2030STest();
+
+    ByteBuffer buffer = Test22.records(1000, ByteOrder.LITTLE_ENDIAN);
+    i.expectReturn("InfiniteList.records(1000 records, 12).count()",
+        () -> InfiniteList.records(buffer, WIDTH).count(), 1000L);
+    i.expectReturn("InfiniteList.records(1000 records, 12).spliterator().getExactSizeIfKnown()",
+        () -> InfiniteList.records(buffer, WIDTH).spliterator().getExactSizeIfKnown(), 1000L);
+    i.expectReturn("InfiniteList.records(1000 records, 12).filter(r -> r.getInt(0) % 250 == 0)" +
+        ".map(r -> r.getLong(4)).toList()",
+        () -> InfiniteList.records(buffer, WIDTH).filter(r -> r.getInt(0) % 250 == 0)
+        .map(r -> r.getLong(4)).toList(), List.of(0L, 2500L, 5000L, 7500L));
+    i.expectReturn("InfiniteList.records(1000 records, 12).map(r -> r.isReadOnly() && " +
+        "r.capacity() == 12).reduce(true, (x, y) -> x && y)",
+        () -> InfiniteList.records(buffer, WIDTH).map(r -> r.isReadOnly() && r.capacity() == 12)
+        .reduce(true, (x, y) -> x && y), true);
+    i.expectReturn("InfiniteList.records(1000 records, 12).head().order()",
+        () -> InfiniteList.records(buffer, WIDTH).head().order(), ByteOrder.LITTLE_ENDIAN);
+    i.expectReturn("InfiniteList.records(1000 records at position 24, 12).head().getInt(0)",
+        () -> InfiniteList.records(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+        .position(24), WIDTH).head().getInt(0), 2);
+    i.expectReturn("InfiniteList.records(1000 records limited to 30 bytes, 12).count()",
+        () -> InfiniteList.records(buffer.duplicate().limit(30), WIDTH).count(), 2L);
+    i.expectReturn("InfiniteList.records(empty, 12).isSentinel()",
+        () -> InfiniteList.records(ByteBuffer.allocate(0), WIDTH).isSentinel(), true);
+
+    ByteBuffer shared = Test22.records(4, ByteOrder.LITTLE_ENDIAN);
+    InfiniteList<ByteBuffer> views = InfiniteList.records(shared, WIDTH);
+    shared.putInt(WIDTH, 42);
+    i.expectReturn("InfiniteList.records(buffer, 12) then buffer.putInt(12, 42)\n" +
+        " ..then .tail().head().getInt(0)", () -> views.tail().head().getInt(0), 42);
+
+    Path file = Files.createTempFile("test22", ".bin");
+    file.toFile().deleteOnExit();
+    ByteBuffer big = Test22.records(1000, ByteOrder.BIG_ENDIAN);
+    Files.write(file, Arrays.copyOf(big.array(), big.capacity() + 5));
+    i.expectReturn("InfiniteList.records(file of 1000 records and 5 bytes, 12).count()",
+        () -> InfiniteList.records(file, WIDTH).count(), 1000L);
+    i.expectReturn("InfiniteList.records(file of 1000 records, 12, 100)" +
+        ".map(r -> r.getInt(0)).reduce(0, (x, y) -> x + y)",
+        () -> InfiniteList.records(file, WIDTH, 100).map(r -> r.getInt(0))
+        .reduce(0, (x, y) -> x + y), 499_500);
+    i.expectReturn("InfiniteList.records(file of 1000 records, 12, 1)" +
+        ".filter(r -> r.getInt(0) == 999).map(r -> r.getLong(4)).head()",
+        () -> InfiniteList.records(file, WIDTH, 1).filter(r -> r.getInt(0) == 999)
+        .map(r -> r.getLong(4)).head(), 9990L);
+
+    i.expectException("InfiniteList.records(buffer, 0)",
+        () -> InfiniteList.records(buffer, 0), new IllegalArgumentException());
+    i.expectException("InfiniteList.records(file, 12, 0)",
+        () -> InfiniteList.records(file, WIDTH, 0), new IllegalArgumentException());
+    i.expectException("InfiniteList.records(missing, 12)",
+        () -> InfiniteList.records(file.resolveSibling("missing-" + file.getFileName()), WIDTH),
+        new UncheckedIOException(new NoSuchFileException("missing")));
+  }
+
+  /**
+   * Create a buffer of records, each an int k followed by a long 10 * k.
+   *
+   * @param count The number of records.
+   * @param order The byte order of the records.
+   * @return The buffer.
+   */
+  private static ByteBuffer records(int count, ByteOrder order) {
+    ByteBuffer buffer = ByteBuffer.allocate(count * WIDTH).order(order);
+    for (int k = 0; k < count; k++) {
+      buffer.putInt(k).putLong(10L * k);
+    }
+    return buffer.flip();
+  }
+}
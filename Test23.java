@@ -0,0 +1,171 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.MemoPolicy;
+import cs2030s.fp.Transformer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Test 23 for CS2030S Lab 7.  Tests for InfiniteList write().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test23 {
+  /**
+   * Main method for Test23.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) throws IOException {
+    CS2030STest i = new CS2030STest();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(5).write(channel, encode)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(5)
+        .write(Channels.newChannel(out), Test23::encode), 10L);
+    i.expect(" ..writes \"1\\n2\\n3\\n4\\n5\\n\"", out.toString(StandardCharsets.UTF_8),
+        "1\n2\n3\n4\n5\n");
+
+    ByteArrayOutputStream none = new ByteArrayOutputStream();
+    i.expectReturn("InfiniteList.sentinel().write(channel, encode)",
+        () -> InfiniteList.<Integer>sentinel().write(Channels.newChannel(none), Test23::encode),
+        0L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).limit(3)" +
+        ".chunked(2).write(channel, encode) writes",
+        () -> Test23.written(InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0)
+        .limit(3).chunked(2), Test23::encode), "2\n4\n6\n");
+
+    ByteBuffer reused = ByteBuffer.allocate(16);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(3).write(channel, " +
+        "encode into one reused heap buffer) writes",
+        () -> Test23.written(InfiniteList.iterate(1, x -> x + 1).limit(3),
+        x -> reused.clear().put(Test23.encode(x)).flip()), "1\n2\n3\n");
+
+    ByteBuffer record = ByteBuffer.wrap("abcdefghij".getBytes(StandardCharsets.UTF_8));
+    i.expectReturn("InfiniteList.records(\"abcdefghij\", 2).write(channel, r -> r) twice writes",
+        () -> {
+          InfiniteList<ByteBuffer> records = InfiniteList.records(record, 2);
+          return Test23.written(records, r -> r) + Test23.written(records, r -> r);
+        }, "abcdefghijabcdefghij");
+    ByteBuffer direct = ByteBuffer.allocateDirect(4).put(0, (byte) 'x').put(1, (byte) 'y')
+        .put(2, (byte) 'z').put(3, (byte) '!');
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(3).write(channel, " +
+        "x -> x == 2 ? direct \"xyz!\" : encode(x)) writes",
+        () -> Test23.written(InfiniteList.iterate(1, x -> x + 1).limit(3),
+        x -> x == 2 ? direct : Test23.encode(x)), "1\nxyz!3\n");
+
+    byte[] large = new byte[200_000];
+    Arrays.fill(large, (byte) 'a');
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(3).write(channel, " +
+        "x -> 200000 bytes)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(3)
+        .write(Channels.newChannel(new ByteArrayOutputStream()), x -> ByteBuffer.wrap(large)),
+        600_000L);
+
+    Path file = Files.createTempFile("test23", ".txt");
+    file.toFile().deleteOnExit();
+    StringBuilder expected = new StringBuilder();
+    for (int k = 1; k <= 100_000; k++) {
+      expected.append(k).append('\n');
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      InfiniteList.iterate(1, x -> x + 1).limit(100_000).write(channel, Test23::encode);
+    }
+    i.expect("InfiniteList.iterate(1, x -> x + 1).limit(100000).write(file, encode)\n" +
+        " ..writes the file", Files.readString(file).equals(expected.toString()), true);
+
+    long count = 2_000_000;
+    WritableByteChannel discard = Test23.discard();
+    i.expectReturn("InfiniteList.generate(() -> 7).cache(MemoPolicy.NONE).limit(2000000)" +
+        ".write(channel, x -> 64 bytes)",
+        () -> InfiniteList.generate(() -> 7).cache(MemoPolicy.NONE).limit(count)
+        .write(discard, x -> ByteBuffer.allocate(64)), 64 * count);
+
+    WritableByteChannel failing = Test23.failing();
+    i.expectException("InfiniteList.iterate(1, x -> x + 1).limit(3).write(failing, encode)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(3).write(failing, Test23::encode),
+        new UncheckedIOException(new IOException()));
+  }
+
+  /**
+   * Encode an integer as its decimal digits followed by a newline.
+   *
+   * @param x The integer.
+   * @return The bytes.
+   */
+  private static ByteBuffer encode(int x) {
+    return ByteBuffer.wrap((x + "\n").getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Write a list to memory and return what was written.
+   *
+   * @param <T> Parameterised type.
+   * @param list The list to write.
+   * @param encoder The encoder.
+   * @return The bytes written, as text.
+   */
+  private static <T> String written(InfiniteList<T> list,
+                                    Transformer<? super T, ? extends ByteBuffer> encoder) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    list.write(Channels.newChannel(out), encoder);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Create a channel that discards what it is given.
+   *
+   * @return The channel.
+   */
+  private static WritableByteChannel discard() {
+    return new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        buffer.position(buffer.limit());
+        return length;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
+  /**
+   * Create a channel that fails on every write.
+   *
+   * @return The channel.
+   */
+  private static WritableByteChannel failing() {
+    return new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer buffer) throws IOException {
+        throw new IOException("disk full");
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
@@ -0,0 +1,98 @@
+import cs2030s.fp.InfiniteList;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 24 for CS2030S Lab 7.  Tests for InfiniteList spill().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test24 {
+  private static final AtomicInteger ENCODED = new AtomicInteger();
+  private static final AtomicInteger DECODED = new AtomicInteger();
+
+  /**
+   * Main method for Test24.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectException("InfiniteList.iterate(1, x -> x + 1).spill(0, encode, decode)",
+        () -> InfiniteList.iterate(1, x -> x + 1).spill(0, Test24::encode, Test24::decode),
+        new IllegalArgumentException());
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).spill(2, encode, decode).limit(5)" +
+        ".toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).spill(2, Test24::encode, Test24::decode)
+        .limit(5).toList(), List.of(1, 2, 3, 4, 5));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).spill(2, encode, decode)" +
+        ".filter(x -> x % 2 == 0).map(x -> x * 10).limit(3).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).spill(2, Test24::encode, Test24::decode)
+        .filter(x -> x % 2 == 0).map(x -> x * 10).limit(3).toList(), List.of(20, 40, 60));
+    i.expectReturn("InfiniteList.sentinel().spill(2, encode, decode).isSentinel()",
+        () -> InfiniteList.<Integer>sentinel().spill(2, Test24::encode, Test24::decode)
+        .isSentinel(), true);
+
+    AtomicInteger produced = new AtomicInteger();
+    InfiniteList<Integer> list = InfiniteList.generate(() -> produced.incrementAndGet())
+        .spill(100, Test24::encode, Test24::decode);
+    ENCODED.set(0);
+    DECODED.set(0);
+    List<Integer> first = Test24.walk(list, 10_000);
+    i.expect("InfiniteList.generate(() -> count).spill(100, encode, decode)\n" +
+        " ..walking 10000 items evaluates 10000 items", produced.get(), 10_000);
+    i.expect(" ..encodes all but the 100 most recent items", ENCODED.get(), 9_900);
+    i.expect(" ..decodes none", DECODED.get(), 0);
+    List<Integer> second = Test24.walk(list, 10_000);
+    i.expect(" ..then walking them again returns the same items", second.equals(first), true);
+    i.expect(" ..evaluates no more items", produced.get(), 10_000);
+    i.expect(" ..encodes the 100 items pushed out", ENCODED.get(), 10_000);
+    i.expect(" ..decodes the items read back", DECODED.get(), 10_000);
+    Test24.walk(list, 10_000);
+    i.expect(" ..then walking them again encodes no item twice", ENCODED.get(), 10_000);
+    i.expectReturn(" ..then .head()", () -> list.head(), 1);
+    i.expectReturn(" ..then .tail().tail().head()", () -> list.tail().tail().head(), 3);
+  }
+
+  /**
+   * Walk the first n items of a list.
+   *
+   * @param list The list to walk.
+   * @param n The number of items.
+   * @return The items.
+   */
+  private static List<Integer> walk(InfiniteList<Integer> list, int n) {
+    List<Integer> items = new ArrayList<>();
+    InfiniteList<Integer> curr = list;
+    for (int k = 0; k < n; k++) {
+      items.add(curr.head());
+      curr = curr.tail();
+    }
+    return items;
+  }
+
+  /**
+   * Encode an integer as 4 bytes.
+   *
+   * @param x The integer.
+   * @return The bytes.
+   */
+  private static ByteBuffer encode(int x) {
+    ENCODED.incrementAndGet();
+    return ByteBuffer.allocate(Integer.BYTES).putInt(0, x);
+  }
+
+  /**
+   * Decode an integer from 4 bytes.
+   *
+   * @param bytes The bytes.
+   * @return The integer.
+   */
+  private static int decode(ByteBuffer bytes) {
+    DECODED.incrementAndGet();
+    return bytes.getInt(0);
+  }
+}
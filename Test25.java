@@ -0,0 +1,72 @@
+import cs2030s.fp.DoubleInfiniteList;
+import cs2030s.fp.IntInfiniteList;
+import cs2030s.fp.LongInfiniteList;
+import cs2030s.fp.OffHeap;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 25 for CS2030S Lab 7.  Tests for offHeap() of the primitive lists.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test25 {
+  /**
+   * Main method for Test25.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    try (OffHeap memory = OffHeap.create()) {
+      i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).offHeap(memory).limit(5).toArray()",
+          () -> Arrays.toString(IntInfiniteList.iterate(1, x -> x + 1).offHeap(memory).limit(5)
+          .toArray()), "[1, 2, 3, 4, 5]");
+      i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0)" +
+          ".offHeap(memory).map(x -> x * 10).limit(3).toArray()",
+          () -> Arrays.toString(IntInfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0)
+          .offHeap(memory).map(x -> x * 10).limit(3).toArray()), "[20, 40, 60]");
+      i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).limit(4).offHeap(memory).count()",
+          () -> IntInfiniteList.iterate(1, x -> x + 1).limit(4).offHeap(memory).count(), 4L);
+      i.expectReturn("IntInfiniteList.iterate(1, x -> x + 1).limit(0).offHeap(memory)" +
+          ".toArray()",
+          () -> Arrays.toString(IntInfiniteList.iterate(1, x -> x + 1).limit(0).offHeap(memory)
+          .toArray()), "[]");
+      i.expectReturn("IntInfiniteList.sentinel().offHeap(memory).isSentinel()",
+          () -> IntInfiniteList.sentinel().offHeap(memory).isSentinel(), true);
+      i.expectReturn("LongInfiniteList.iterate(1, x -> x * 3).offHeap(memory).limit(4)" +
+          ".toArray()",
+          () -> Arrays.toString(LongInfiniteList.iterate(1, x -> x * 3).offHeap(memory).limit(4)
+          .toArray()), "[1, 3, 9, 27]");
+      i.expectReturn("DoubleInfiniteList.iterate(1, x -> x / 2).offHeap(memory).limit(3)" +
+          ".toArray()",
+          () -> Arrays.toString(DoubleInfiniteList.iterate(1, x -> x / 2).offHeap(memory).limit(3)
+          .toArray()), "[1.0, 0.5, 0.25]");
+    }
+
+    AtomicInteger produced = new AtomicInteger();
+    OffHeap memory = OffHeap.create(4096);
+    IntInfiniteList list = IntInfiniteList.generate(() -> produced.incrementAndGet())
+        .offHeap(memory);
+    i.expectReturn("IntInfiniteList.generate(() -> count).offHeap(memory of 4 KiB segments)" +
+        ".limit(100000).reduce(0, (x, y) -> x + y)",
+        () -> list.limit(100_000).reduce(0, (x, y) -> x + y), 705_082_704);
+    i.expect(" ..evaluates 100000 items", produced.get(), 100_000);
+    i.expect(" ..allocates 98 segments", memory.allocated(), 98L * 4096);
+    i.expectReturn(" ..then .limit(100000).reduce(0, (x, y) -> x + y) again",
+        () -> list.limit(100_000).reduce(0, (x, y) -> x + y), 705_082_704);
+    i.expect(" ..evaluates no more items", produced.get(), 100_000);
+    i.expectReturn(" ..then .tail().tail().head()", () -> list.tail().tail().head(), 3);
+    memory.close();
+    i.expect(" ..then memory.close() frees the segments", memory.allocated(), 0L);
+    i.expectReturn(" ..then .head(), which was read before", () -> list.head(), 1);
+    i.expectException(" ..then .tail().head()", () -> list.tail().head(),
+        new IllegalStateException());
+    i.expectException("IntInfiniteList.iterate(1, x -> x + 1).offHeap(closed memory)",
+        () -> IntInfiniteList.iterate(1, x -> x + 1).offHeap(memory),
+        new IllegalStateException());
+    i.expectException("OffHeap.create(4)", () -> OffHeap.create(4),
+        new IllegalArgumentException());
+  }
+}
@@ -0,0 +1,116 @@
+import cs2030s.fp.InfiniteList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 26 for CS2030S Lab 7.  Tests for InfiniteList get(), skip(),
+ * dropWhile() and indexed().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test26 {
+  /**
+   * Main method for Test26.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).get(0)",
+        () -> InfiniteList.iterate(0, x -> x + 1).get(0), 0);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).get(1000000)",
+        () -> InfiniteList.iterate(0, x -> x + 1).get(1_000_000), 1_000_000);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 1000 == 0).get(1000)",
+        () -> InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 1000 == 0).get(1000),
+        1_000_000);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).chunked(3).get(7)",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(10).chunked(3).get(7), 7);
+    i.expectException("InfiniteList.iterate(0, x -> x + 1).limit(3).get(3)",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(3).get(3), new NoSuchElementException());
+    i.expectException("InfiniteList.iterate(0, x -> x + 1).limit(5).filter(x -> x < 3).get(3)",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).filter(x -> x < 3).get(3),
+        new NoSuchElementException());
+    i.expectException("InfiniteList.iterate(0, x -> x + 1).get(-1)",
+        () -> InfiniteList.iterate(0, x -> x + 1).get(-1), new IllegalArgumentException());
+    i.expectException("InfiniteList.sentinel().get(0)",
+        () -> InfiniteList.sentinel().get(0), new NoSuchElementException());
+
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).skip(1000000).limit(3).toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).skip(1_000_000).limit(3).toList(),
+        List.of(1_000_000, 1_000_001, 1_000_002));
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).skip(2).toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).skip(2).toList(), List.of(2, 3, 4));
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).skip(2).count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).skip(2).count(), 3L);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).skip(7).isSentinel()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).skip(7).isSentinel(), true);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).filter(x -> x < 3).skip(7)" +
+        ".toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).filter(x -> x < 3).skip(7).toList(),
+        List.of());
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 0).skip(2)" +
+        ".head()",
+        () -> InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 0).skip(2).head(), 4);
+    i.expectException("InfiniteList.iterate(0, x -> x + 1).skip(-1)",
+        () -> InfiniteList.iterate(0, x -> x + 1).skip(-1), new IllegalArgumentException());
+
+    AtomicInteger evals = new AtomicInteger();
+    InfiniteList<Integer> skipped = InfiniteList.iterate(0, x -> x + 1)
+        .map(x -> evals.incrementAndGet()).skip(5);
+    i.expect("InfiniteList.iterate(0, x -> x + 1).map(x -> count).skip(5)\n" +
+        " ..evaluates nothing", evals.get(), 0);
+
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).dropWhile(x -> x < 1000000).head()",
+        () -> InfiniteList.iterate(0, x -> x + 1).dropWhile(x -> x < 1_000_000).head(),
+        1_000_000);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 3 != 1)" +
+        ".dropWhile(x -> x < 4).toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 3 != 1)
+        .dropWhile(x -> x < 4).toList(), List.of(5, 6, 8, 9));
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).dropWhile(x -> true).toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).dropWhile(x -> true).toList(),
+        List.of());
+    i.expectReturn("InfiniteList.sentinel().dropWhile(x -> true).isSentinel()",
+        () -> InfiniteList.sentinel().dropWhile(x -> true).isSentinel(), true);
+
+    AtomicInteger walked = new AtomicInteger();
+    InfiniteList<Integer> indexed = InfiniteList.iterate(0, x -> x + 1)
+        .filter(x -> walked.incrementAndGet() > 0).indexed(16);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> count).indexed(16)" +
+        ".get(100000)", () -> indexed.get(100_000), 100_000);
+    i.expect(" ..walks 100001 items", walked.get(), 100_001);
+    walked.set(0);
+    int sum = 0;
+    for (int k = 0; k < 1000; k++) {
+      sum += indexed.get(k * 97);
+    }
+    i.expect(" ..then 1000 reads of .get(k * 97)", sum, 97 * 999 * 1000 / 2);
+    i.expect(" ..evaluates no item again", walked.get(), 0);
+    i.expectReturn(" ..then .skip(99999).head()", () -> indexed.skip(99_999).head(), 99_999);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).chunked(3).indexed(2).get(9)",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(10).chunked(3).indexed(2).get(9), 9);
+    i.expectException("InfiniteList.iterate(0, x -> x + 1).limit(10).indexed(4).get(10)",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(10).indexed(4).get(10),
+        new NoSuchElementException());
+    i.expectException("InfiniteList.iterate(0, x -> x + 1).indexed(0)",
+        () -> InfiniteList.iterate(0, x -> x + 1).indexed(0), new IllegalArgumentException());
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10)" +
+        ".dropWhile(x -> x < 3).reduce(0, Integer::sum)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10)
+        .dropWhile(x -> x < 3).reduce(0, Integer::sum), 52);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).takeWhile(x -> x < 8)" +
+        ".skip(2).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).takeWhile(x -> x < 8)
+        .skip(2).toList(), List.of(3, 4, 5, 6, 7));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).indexed(2).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).indexed(2).toList(),
+        List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).skip(1)" +
+        ".parallelReduce(0, Integer::sum, Integer::sum)",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).skip(1)
+        .parallelReduce(0, Integer::sum, Integer::sum), 54);
+  }
+}
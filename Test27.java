@@ -0,0 +1,119 @@
+import cs2030s.fp.InfiniteList;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Test 27 for CS2030S Lab 7.  Tests for the sizes of limited lists, as
+ * used by count(), toList() and toArray().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test27 {
+  /**
+   * Main method for Test27.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    AtomicInteger evals = new AtomicInteger();
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).map(x -> count).limit(1000000)" +
+        ".count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).map(x -> evals.incrementAndGet())
+        .limit(1_000_000).count(), 1_000_000L);
+    i.expect(" ..evaluates no item", evals.get(), 0);
+    i.expectReturn("InfiniteList.generate(() -> count).limit(5).map(x -> x * 2).count()",
+        () -> InfiniteList.generate(() -> evals.incrementAndGet()).limit(5).map(x -> x * 2)
+        .count(), 5L);
+    i.expect(" ..evaluates no item", evals.get(), 0);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 3 == 0)" +
+        ".count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 3 == 0).count(),
+        4L);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(4)" +
+        ".count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 3 == 0).limit(4).count(), 4L);
+
+    InfiniteList<Integer> ten = InfiniteList.iterate(0, x -> x + 1).limit(10);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).limit(20) is the same list",
+        () -> ten.limit(20) == ten, true);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).limit(5).count()",
+        () -> ten.limit(5).count(), 5L);
+    InfiniteList<Integer> sparse = InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 7 == 0)
+        .limit(3);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 7 == 0).limit(3)" +
+        ".limit(5) is the same list", () -> sparse.limit(5) == sparse, true);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 7 == 0).limit(3)" +
+        ".map(x -> x + 1).toList()",
+        () -> sparse.map(x -> x + 1).toList(), List.of(1, 8, 15));
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 7 == 0).limit(3)" +
+        ".skip(3).isSentinel()", () -> sparse.skip(3).isSentinel(), true);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 7 == 0).limit(3)" +
+        ".filter(x -> x > 0).limit(2).toList()",
+        () -> sparse.filter(x -> x > 0).limit(2).toList(), List.of(7, 14));
+
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).toArray()",
+        () -> Arrays.toString(InfiniteList.iterate(0, x -> x + 1).limit(5).toArray()),
+        "[0, 1, 2, 3, 4]");
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(10).filter(x -> x % 4 == 0)" +
+        ".toArray()",
+        () -> Arrays.toString(InfiniteList.iterate(0, x -> x + 1).limit(10)
+        .filter(x -> x % 4 == 0).toArray()), "[0, 4, 8]");
+    i.expectReturn("InfiniteList.sentinel().toArray()",
+        () -> Arrays.toString(InfiniteList.sentinel().toArray()), "[]");
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(5).toList()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(5).toList(), List.of(0, 1, 2, 3, 4));
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(6).chunked(4).toArray()",
+        () -> Arrays.toString(InfiniteList.iterate(0, x -> x + 1).limit(6).chunked(4)
+        .toArray()), "[0, 1, 2, 3, 4, 5]");
+
+    i.expectReturn("InfiniteList.fromStream(Stream.of(1, 2, 3)).toList() allocates less " +
+        "than 4096 bytes", () -> Test27.allocation(() -> InfiniteList.fromStream(
+        Stream.of(1, 2, 3)).toList()) < 4096, true);
+    i.expectReturn("InfiniteList.fromStream(Stream.of(1, 2, 3)).skip(1).count()",
+        () -> InfiniteList.fromStream(Stream.of(1, 2, 3)).skip(1).count(), 2L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).takeWhile(x -> x < 4).skip(1).count()",
+        () -> InfiniteList.iterate(1, x -> x + 1).takeWhile(x -> x < 4).skip(1).count(), 2L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).skip(1).toList()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).skip(1).toList(),
+        List.of(2, 3, 4, 5, 6, 7, 8, 9, 10));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).skip(1).count()",
+        () -> InfiniteList.iterate(1, x -> x + 1).chunked(4).limit(10).skip(1).count(), 9L);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0).skip(1)" +
+        ".limit(3).toArray()",
+        () -> Arrays.toString(InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 0)
+        .skip(1).limit(3).toArray()), "[4, 6, 8]");
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(4294967301L).toArray() " +
+        "throws OutOfMemoryError", () -> {
+          try {
+            InfiniteList.iterate(1, x -> x + 1).limit(4_294_967_301L).toArray();
+            return false;
+          } catch (OutOfMemoryError e) {
+            return true;
+          }
+        }, true);
+  }
+
+  /**
+   * Measure the bytes allocated by the current thread to run a task, after
+   * running it a few times so that its classes are loaded.
+   *
+   * @param task The task to run.
+   * @return The bytes allocated by its last run.
+   */
+  private static long allocation(Runnable task) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long id = Thread.currentThread().getId();
+    for (int k = 0; k < 10; k++) {
+      task.run();
+    }
+    long allocated = threads.getThreadAllocatedBytes(id);
+    task.run();
+    return threads.getThreadAllocatedBytes(id) - allocated;
+  }
+}
@@ -0,0 +1,92 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Maybe;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 28 for CS2030S Lab 7.  Tests for InfiniteList forEach(),
+ * findFirst(), anyMatch(), allMatch(), noneMatch(), max() and min().
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test28 {
+  /**
+   * Main method for Test28.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    List<Integer> seen = new ArrayList<>();
+    InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 1).limit(4).forEach(seen::add);
+    i.expect("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 2 == 1).limit(4)" +
+        ".forEach(list::add)", seen, List.of(1, 3, 5, 7));
+    AtomicInteger sum = new AtomicInteger();
+    InfiniteList.iterate(1, x -> x + 1).limit(1_000_000).forEach(x -> sum.addAndGet(x % 10));
+    i.expect("InfiniteList.iterate(1, x -> x + 1).limit(1000000).forEach(x -> sum += x % 10)",
+        sum.get(), 4_500_000);
+    List<Integer> chunks = new ArrayList<>();
+    InfiniteList.iterate(1, x -> x + 1).limit(5).chunked(2).forEach(chunks::add);
+    i.expect("InfiniteList.iterate(1, x -> x + 1).limit(5).chunked(2).forEach(list::add)",
+        chunks, List.of(1, 2, 3, 4, 5));
+    InfiniteList.sentinel().forEach(x -> seen.add(0));
+    i.expect("InfiniteList.sentinel().forEach(list::add) adds nothing", seen.size(), 4);
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).findFirst(x -> x > 1000000)",
+        () -> InfiniteList.iterate(1, x -> x + 1).findFirst(x -> x > 1_000_000),
+        Maybe.some(1_000_001));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(5).findFirst(x -> x > 5)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(5).findFirst(x -> x > 5),
+        Maybe.none());
+    AtomicInteger evals = new AtomicInteger();
+    InfiniteList.iterate(1, x -> x + 1).map(x -> {
+      evals.incrementAndGet();
+      return x;
+    }).findFirst(x -> x == 3);
+    i.expect("InfiniteList.iterate(1, x -> x + 1).map(x -> count).findFirst(x -> x == 3)\n" +
+        " ..evaluates 3 items", evals.get(), 3);
+
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).anyMatch(x -> x % 1000 == 0)",
+        () -> InfiniteList.iterate(1, x -> x + 1).anyMatch(x -> x % 1000 == 0), true);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(10).anyMatch(x -> x > 10)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(10).anyMatch(x -> x > 10), false);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).allMatch(x -> x < 1000000)",
+        () -> InfiniteList.iterate(1, x -> x + 1).allMatch(x -> x < 1_000_000), false);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(10).allMatch(x -> x <= 10)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(10).allMatch(x -> x <= 10), true);
+    i.expectReturn("InfiniteList.sentinel().allMatch(x -> false)",
+        () -> InfiniteList.sentinel().allMatch(x -> false), true);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).noneMatch(x -> x == 500000)",
+        () -> InfiniteList.iterate(1, x -> x + 1).noneMatch(x -> x == 500_000), false);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(10).noneMatch(x -> x > 10)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(10).noneMatch(x -> x > 10), true);
+
+    i.expectReturn("InfiniteList.iterate(1, x -> (x * 7) % 11).limit(10)" +
+        ".max(Comparator.naturalOrder())",
+        () -> InfiniteList.iterate(1, x -> (x * 7) % 11).limit(10)
+        .max(Comparator.naturalOrder()), Maybe.some(10));
+    i.expectReturn("InfiniteList.iterate(1, x -> (x * 7) % 11).limit(10)" +
+        ".min(Comparator.naturalOrder())",
+        () -> InfiniteList.iterate(1, x -> (x * 7) % 11).limit(10)
+        .min(Comparator.naturalOrder()), Maybe.some(1));
+    i.expectReturn("InfiniteList.iterate(\"a\", x -> x + \"b\").limit(4)" +
+        ".map(x -> x.length() % 2 + x).max(Comparator.comparing(String::length))",
+        () -> InfiniteList.iterate("a", x -> x + "b").limit(4).map(x -> x.length() % 2 + x)
+        .max(Comparator.comparing(String::length)), Maybe.some("0abbb"));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(6).min(by x % 3)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(6)
+        .min(Comparator.comparing(x -> x % 3)), Maybe.some(3));
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(6).max(by x % 3)",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(6)
+        .max(Comparator.comparing(x -> x % 3)), Maybe.some(2));
+    i.expectReturn("InfiniteList.sentinel().max(Comparator.naturalOrder())",
+        () -> InfiniteList.<Integer>sentinel().max(Comparator.naturalOrder()), Maybe.none());
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).limit(1000000)" +
+        ".max(Comparator.naturalOrder())",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(1_000_000)
+        .max(Comparator.naturalOrder()), Maybe.some(1_000_000));
+  }
+}
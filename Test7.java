@@ -0,0 +1,58 @@
+import cs2030s.fp.InfiniteList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test 7 for CS2030S Lab 7.  Tests that InfiniteList
+ * operations run in constant stack on long lists.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test7 {
+  /**
+   * Main method for Test7.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(1_000_000).count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(1_000_000).count(), 1_000_000L);
+    i.expectReturn("InfiniteList.iterate(0, x -> x + 1).limit(1_000_000)" +
+        ".filter(x -> x % 2 == 0).count()",
+        () -> InfiniteList.iterate(0, x -> x + 1).limit(1_000_000)
+        .filter(x -> x % 2 == 0).count(), 500_000L);
+    i.expectReturn("InfiniteList.iterate(1L, x -> x + 1).limit(1_000_000)" +
+        ".reduce(0L, (x, y) -> x + y)",
+        () -> InfiniteList.iterate(1L, x -> x + 1).limit(1_000_000).reduce(0L, (x, y) -> x + y),
+        500_000_500_000L);
+    i.expectReturn("InfiniteList.generate(() -> 1).limit(1_000_000).toList().size()",
+        () -> InfiniteList.generate(() -> 1).limit(1_000_000).toList().size(), 1_000_000);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 1_000_000 == 0).head()",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 1_000_000 == 0).head(),
+        1_000_000);
+    i.expectReturn("InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 1_000_000 == 0)" +
+        ".tail().head()",
+        () -> InfiniteList.iterate(1, x -> x + 1).filter(x -> x % 1_000_000 == 0)
+        .tail().head(),
+        2_000_000);
+    i.expectException("InfiniteList.iterate(1, x -> x + 1).limit(1_000_000)" +
+        ".filter(x -> x < 0).head()",
+        () -> InfiniteList.iterate(1, x -> x + 1).limit(1_000_000).filter(x -> x < 0).head(),
+        new java.util.NoSuchElementException());
+
+    List<Integer> incrHistory = new ArrayList<>();
+    InfiniteList<Integer> nums = InfiniteList.iterate(1, x -> {
+      incrHistory.add(x);
+      return x + 1;
+    }).limit(5);
+    nums.count();
+    nums.reduce(0, (x, y) -> x + y);
+    nums.toList();
+    i.expect("InfiniteList.iterate(1, x -> x + 1).limit(5) after count(), reduce() " +
+        "and toList()\n" +
+        " ..causes five evals on x -> x + 1",
+        incrHistory, List.of(1, 2, 3, 4, 5));
+  }
+}
@@ -0,0 +1,72 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Lazy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test 8 for CS2030S Lab 7.  Tests that Lazy and InfiniteList
+ * evaluate each producer exactly once when shared between threads.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test8 {
+  private static final int THREADS = 8;
+
+  /**
+   * Main method for Test8.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    AtomicInteger evals = new AtomicInteger();
+    Lazy<Integer> lazy = Lazy.of(() -> {
+      evals.incrementAndGet();
+      Thread.yield();
+      return 42;
+    });
+    List<Integer> results = Test8.runConcurrently(() -> lazy.get());
+    i.expect("Lazy.of(() -> 42).get() on " + THREADS + " threads returns 42 on every thread",
+        results, List.of(42, 42, 42, 42, 42, 42, 42, 42));
+    i.expect(" ..causes one eval of () -> 42", evals.get(), 1);
+
+    AtomicInteger incrEvals = new AtomicInteger();
+    InfiniteList<Integer> nums = InfiniteList.iterate(0, x -> {
+      incrEvals.incrementAndGet();
+      return x + 1;
+    }).map(x -> x * 2).limit(10_000);
+    List<Integer> sums = Test8.runConcurrently(() -> nums.reduce(0, (x, y) -> x + y));
+    i.expect("InfiniteList.iterate(0, x -> x + 1).map(x -> x * 2).limit(10_000)" +
+        ".reduce(0, (x, y) -> x + y)\n" +
+        " ..on " + THREADS + " threads returns 99990000 on every thread",
+        sums, List.of(99990000, 99990000, 99990000, 99990000,
+                      99990000, 99990000, 99990000, 99990000));
+    i.expect(" ..causes 10000 evals of x -> x + 1", incrEvals.get(), 10_000);
+  }
+
+  /**
+   * Run the same task on several threads at once and collect the results.
+   *
+   * @param task The task to run.
+   * @return The result from each thread.
+   */
+  private static List<Integer> runConcurrently(java.util.function.Supplier<Integer> task) {
+    Integer[] results = new Integer[THREADS];
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int slot = t;
+      workers.add(new Thread(() -> results[slot] = task.get()));
+    }
+    workers.forEach(Thread::start);
+    for (Thread worker : workers) {
+      try {
+        worker.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return List.of(results);
+  }
+}
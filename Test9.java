@@ -0,0 +1,60 @@
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Lazy;
+import java.lang.ref.WeakReference;
+
+/**
+ * Test 9 for CS2030S Lab 7.  Tests that evaluated Lazy and InfiniteList
+ * instances do not keep their upstream values reachable.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Test9 {
+  /**
+   * Main method for Test9.
+   *
+   * @param args Ignored and unused command line arguments.
+   */
+  public static void main(String[] args) {
+    CS2030STest i = new CS2030STest();
+
+    Object[] captured = new Object[] { new Object() };
+    WeakReference<Object> capturedRef = new WeakReference<>(captured[0]);
+    Lazy<String> lazy = Test9.lazyToString(captured[0]);
+    lazy.get();
+    captured[0] = null;
+    Test9.collectGarbage();
+    i.expect("Lazy.of(() -> captured.toString()).get()\n" +
+        " ..releases captured", capturedRef.get(), null);
+
+    InfiniteList<Integer> nums = InfiniteList.iterate(0, x -> x + 1);
+    WeakReference<InfiniteList<Integer>> numsRef = new WeakReference<>(nums);
+    InfiniteList<Integer> evens = nums.map(x -> x * 2).filter(x -> x % 4 == 0).limit(10);
+    evens.count();
+    nums = null;
+    Test9.collectGarbage();
+    i.expect("InfiniteList<Integer> evens = nums.map(x -> x * 2).filter(x -> x % 4 == 0)" +
+        ".limit(10)\n" +
+        " ..after evens.count(), nums is released", numsRef.get(), null);
+    i.expect(" ..evens.toList() still returns [0, 4, ..., 36]",
+        evens.toList(), java.util.List.of(0, 4, 8, 12, 16, 20, 24, 28, 32, 36));
+  }
+
+  /**
+   * Create a Lazy whose producer captures the given object.
+   *
+   * @param obj The object to capture.
+   * @return A Lazy of the string representation of obj.
+   */
+  private static Lazy<String> lazyToString(Object obj) {
+    return Lazy.of(() -> obj.toString());
+  }
+
+  /**
+   * Request a few rounds of garbage collection.
+   */
+  private static void collectGarbage() {
+    for (int round = 0; round < 3; round++) {
+      System.gc();
+    }
+  }
+}
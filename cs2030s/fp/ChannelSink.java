@@ -0,0 +1,162 @@
+package cs2030s.fp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * This class encapsulates a batched writer of buffers to a channel.  Heap
+ * buffers are copied into one reusable direct buffer, so that the channel
+ * does not copy them again into a temporary one of its own, while direct
+ * buffers, such as views into a mapped file, are written as they are.  The
+ * pending buffers are written together with a gathering write when the
+ * channel supports one.  Used by InfiniteList.write.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+final class ChannelSink {
+  /**
+   * The size of the reusable direct buffer.
+   */
+  static final int BUFFER = 1 << 16;
+
+  /**
+   * The most buffers written by one gathering write.
+   */
+  static final int BATCH = 64;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer staging;
+  private final ByteBuffer[] batch;
+  private int pending;
+
+  /**
+   * The offset in the direct buffer of the bytes copied since the last
+   * buffer added to the batch.
+   */
+  private int from;
+  private long written;
+
+  /**
+   * Constructor that takes in the channel to write to.
+   *
+   * @param channel The channel.
+   */
+  ChannelSink(WritableByteChannel channel) {
+    this.channel = channel;
+    this.staging = ByteBuffer.allocateDirect(BUFFER);
+    this.batch = new ByteBuffer[BATCH];
+    this.pending = 0;
+    this.from = 0;
+    this.written = 0;
+  }
+
+  /**
+   * Method that adds the remaining bytes of a buffer to the batch, writing
+   * out the batch whenever it is full.  The buffer itself is not changed.
+   *
+   * @param buffer The bytes to write.
+   */
+  void add(ByteBuffer buffer) {
+    if (buffer.isDirect()) {
+      this.close();
+      this.batch(buffer.duplicate());
+      return;
+    }
+    int offset = buffer.position();
+    int length = buffer.remaining();
+    while (length > 0) {
+      if (!this.staging.hasRemaining()) {
+        this.flush();
+      }
+      int part = Math.min(length, this.staging.remaining());
+      this.staging.put(this.staging.position(), buffer, offset, part);
+      this.staging.position(this.staging.position() + part);
+      offset += part;
+      length -= part;
+    }
+  }
+
+  /**
+   * Method that writes out everything added so far.
+   *
+   * @return The number of bytes written since the sink was created.
+   */
+  long finish() {
+    this.flush();
+    return this.written;
+  }
+
+  /**
+   * Method that adds the bytes copied since the last buffer added to the
+   * batch, if any, as a view of the direct buffer.
+   */
+  private void close() {
+    int to = this.staging.position();
+    if (to > this.from) {
+      ByteBuffer copied = this.staging.slice(this.from, to - this.from);
+      this.from = to;
+      this.batch(copied);
+    }
+  }
+
+  /**
+   * Method that adds a buffer to the batch, writing out the batch once it
+   * is full.
+   *
+   * @param buffer The buffer.
+   */
+  private void batch(ByteBuffer buffer) {
+    this.batch[this.pending++] = buffer;
+    if (this.pending == BATCH) {
+      this.write();
+    }
+  }
+
+  /**
+   * Method that writes out everything copied and batched so far.
+   */
+  private void flush() {
+    this.close();
+    this.write();
+  }
+
+  /**
+   * Method that writes out the batch, and then reuses the direct buffer if
+   * all the bytes copied into it have been written.
+   *
+   * @throws UncheckedIOException if the channel fails.
+   */
+  private void write() {
+    try {
+      if (this.channel instanceof GatheringByteChannel) {
+        GatheringByteChannel gathering = (GatheringByteChannel) this.channel;
+        int first = 0;
+        while (first < this.pending) {
+          this.written += gathering.write(this.batch, first, this.pending - first);
+          while (first < this.pending && !this.batch[first].hasRemaining()) {
+            first++;
+          }
+        }
+      } else {
+        for (int k = 0; k < this.pending; k++) {
+          while (this.batch[k].hasRemaining()) {
+            this.written += this.channel.write(this.batch[k]);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    Arrays.fill(this.batch, 0, this.pending, null);
+    this.pending = 0;
+    if (this.staging.position() == this.from) {
+      this.staging.clear();
+      this.from = 0;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that consumes a double value.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface DoubleConsumer {
+  /**
+   * The functional method to consume a value.
+   *
+   * @param x the value to consume
+   */
+  void consume(double x);
+}
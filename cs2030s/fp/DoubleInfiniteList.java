@@ -0,0 +1,821 @@
+// Generated from gen/PrimitiveInfiniteList.java.template by gen/Generate.java.
+// Edit the template and regenerate rather than editing this file.
+package cs2030s.fp;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class encapsulates a lazy infinite list of double values.  It has the
+ * same lazy semantics as InfiniteList, but each node keeps its head as
+ * a double and evaluates its head and tail in place, instead of boxing the
+ * head into a Double inside a Maybe inside a Lazy.  Each operation is a
+ * subclass whose nodes keep the state of the operation in fields, so that a
+ * node is the only object allocated per item.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public abstract class DoubleInfiniteList {
+  /**
+   * Bit of the state that is set once the head is evaluated.
+   */
+  private static final int HEAD = 1;
+
+  /**
+   * Bit of the state that is set once the tail is evaluated.
+   */
+  private static final int TAIL = 2;
+
+  /**
+   * Bit of the state that is set if the evaluated head is present.
+   */
+  private static final int PRESENT = 4;
+
+  /**
+   * A cached SENTINEL to mark the end of a finite list.
+   */
+  private static final DoubleInfiniteList SENTINEL = new Sentinel();
+
+  /**
+   * Which of the head and tail are evaluated, and whether the head is
+   * present.  Volatile so that a head or tail evaluated by one thread is
+   * seen by others without the lock.
+   */
+  private volatile int state;
+
+  /**
+   * Value of the head, only meaningful once evaluated and present.
+   */
+  private double value;
+
+  /**
+   * The tail once evaluated.  Until then, the node that this node is
+   * derived from, if any, which is let go when the tail is evaluated.
+   */
+  private DoubleInfiniteList next;
+
+  /**
+   * Constructor for a node whose head is lazily evaluated from no other
+   * node.
+   */
+  private DoubleInfiniteList() {
+  }
+
+  /**
+   * Constructor for a node whose head is already known.
+   *
+   * @param value The head.
+   */
+  private DoubleInfiniteList(double value) {
+    this.value = value;
+    this.state = HEAD | PRESENT;
+  }
+
+  /**
+   * Constructor for a node whose head is lazily evaluated from another node.
+   *
+   * @param source The node that this node is derived from.
+   */
+  private DoubleInfiniteList(DoubleInfiniteList source) {
+    this.next = source;
+  }
+
+  /**
+   * Method that evaluates the head of this node, storing its value if
+   * present.  Called once, before the tail is evaluated.
+   *
+   * @param source The node that this node is derived from, or null.
+   * @return True if the head is present, false if it is filtered out.
+   */
+  abstract boolean evaluateHead(DoubleInfiniteList source);
+
+  /**
+   * Method that evaluates the tail of this node.  Called once, after the
+   * head is evaluated.
+   *
+   * @param source The node that this node is derived from, or null.
+   * @return The tail of this node.
+   */
+  abstract DoubleInfiniteList evaluateTail(DoubleInfiniteList source);
+
+  /**
+   * Static method that creates a DoubleInfiniteList from the producer.
+   *
+   * @param producer Producer that produces every item in the list.
+   * @return DoubleInfiniteList.
+   */
+  public static DoubleInfiniteList generate(DoubleProducer producer) {
+    return new Generate(producer);
+  }
+
+  /**
+   * Static method that creates a DoubleInfiniteList from an initial seed and a transformer.
+   *
+   * @param seed Initial item.
+   * @param next Transformer that produces subsequent items.
+   * @return DoubleInfiniteList.
+   */
+  public static DoubleInfiniteList iterate(double seed, DoubleTransformer next) {
+    return new Iterate(seed, next);
+  }
+
+  /**
+   * Static method that maps every item of an InfiniteList to a double.
+   *
+   * @param <T> Parameterised type.
+   * @param list The InfiniteList to map.
+   * @param mapper Transformer that transforms each item in the list.
+   * @return DoubleInfiniteList.
+   */
+  static <T> DoubleInfiniteList mapFrom(InfiniteList<T> list,
+      ToDoubleTransformer<? super T> mapper) {
+    if (list.isSentinel()) {
+      return DoubleInfiniteList.sentinel();
+    }
+    return new MappedFrom<>(list, mapper);
+  }
+
+  /**
+   * Evaluate the head of this node if not yet done so.
+   *
+   * @return True if the head is present, false if it is filtered out.
+   */
+  private boolean isPresent() {
+    int state = this.state;
+    if ((state & HEAD) == 0) {
+      synchronized (this) {
+        state = this.state;
+        if ((state & HEAD) == 0) {
+          state = this.evaluateHead(this.next) ? HEAD | PRESENT : HEAD;
+          this.state = state;
+        }
+      }
+    }
+    return (state & PRESENT) != 0;
+  }
+
+  /**
+   * Evaluate the tail of this node if not yet done so, after its head.
+   * Package-private so that a node read from off-heap memory can make its
+   * tail afresh instead.
+   *
+   * @return The tail of this node.
+   */
+  DoubleInfiniteList getTail() {
+    if ((this.state & TAIL) == 0) {
+      synchronized (this) {
+        if ((this.state & TAIL) == 0) {
+          this.isPresent();
+          this.next = this.evaluateTail(this.next);
+          this.state = this.state | TAIL;
+        }
+      }
+    }
+    return this.next;
+  }
+
+  /**
+   * Method that skips over the leading filtered-out items in a loop.
+   *
+   * @return The first node with a present head, or a Sentinel.
+   */
+  private DoubleInfiniteList skipAbsent() {
+    DoubleInfiniteList curr = this;
+    while (!curr.isSentinel() && !curr.isPresent()) {
+      curr = curr.getTail();
+    }
+    return curr;
+  }
+
+  /**
+   * Method to retrieve the first item that is not filtered out.
+   *
+   * @return The first item.
+   */
+  public double head() {
+    DoubleInfiniteList first = this.skipAbsent();
+    if (first.isSentinel()) {
+      throw new NoSuchElementException();
+    }
+    return first.value;
+  }
+
+  /**
+   * Method to retrieve the tail after the first item that is not filtered out.
+   *
+   * @return DoubleInfiniteList.
+   */
+  public DoubleInfiniteList tail() {
+    DoubleInfiniteList first = this.skipAbsent();
+    if (first.isSentinel()) {
+      throw new NoSuchElementException();
+    }
+    return first.getTail();
+  }
+
+  /**
+   * Maps the DoubleInfiniteList.
+   *
+   * @param mapper Transformer that transforms each item in the list.
+   * @return DoubleInfiniteList.
+   */
+  public DoubleInfiniteList map(DoubleTransformer mapper) {
+    return new Mapped(this, mapper);
+  }
+
+  /**
+   * Filters the DoubleInfiniteList.
+   *
+   * @param predicate BooleanCondition that filters each item in the list.
+   * @return DoubleInfiniteList.
+   */
+  public DoubleInfiniteList filter(DoubleBooleanCondition predicate) {
+    return new Filtered(this, predicate);
+  }
+
+  /**
+   * Static nested class for the nodes of generate.
+   */
+  private static final class Generate extends DoubleInfiniteList {
+    private final DoubleProducer producer;
+
+    /**
+     * Private constructor for the creation of a Generate.
+     *
+     * @param producer Producer that produces every item in the list.
+     */
+    private Generate(DoubleProducer producer) {
+      super();
+      this.producer = producer;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      super.value = this.producer.produce();
+      return true;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return new Generate(this.producer);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of iterate, whose heads are known.
+   */
+  private static final class Iterate extends DoubleInfiniteList {
+    private final DoubleTransformer step;
+
+    /**
+     * Private constructor for the creation of an Iterate.
+     *
+     * @param seed The head.
+     * @param step Transformer that produces subsequent items.
+     */
+    private Iterate(double seed, DoubleTransformer step) {
+      super(seed);
+      this.step = step;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      return true;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return new Iterate(this.step.transform(super.value), this.step);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of mapFrom, whose items come from an
+   * InfiniteList.
+   */
+  private static final class MappedFrom<T> extends DoubleInfiniteList {
+    private final ToDoubleTransformer<? super T> mapper;
+
+    /**
+     * The node of the InfiniteList, or null once the tail is evaluated.
+     */
+    private InfiniteList<T> list;
+
+    /**
+     * Private constructor for the creation of a MappedFrom.
+     *
+     * @param list The node of the InfiniteList.
+     * @param mapper Transformer that transforms each item in the list.
+     */
+    private MappedFrom(InfiniteList<T> list, ToDoubleTransformer<? super T> mapper) {
+      super();
+      this.list = list;
+      this.mapper = mapper;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      Maybe<T> head = this.list.headMaybe();
+      if (head.equals(Maybe.none())) {
+        return false;
+      }
+      super.value = this.mapper.transform(head.get());
+      return true;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      InfiniteList<T> list = this.list;
+      this.list = null;
+      return DoubleInfiniteList.mapFrom(list.tailList(), this.mapper);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of map.
+   */
+  private static final class Mapped extends DoubleInfiniteList {
+    private final DoubleTransformer mapper;
+
+    /**
+     * Private constructor for the creation of a Mapped.
+     *
+     * @param source The node that is mapped.
+     * @param mapper Transformer that transforms each item in the list.
+     */
+    private Mapped(DoubleInfiniteList source, DoubleTransformer mapper) {
+      super(source);
+      this.mapper = mapper;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      if (!source.isPresent()) {
+        return false;
+      }
+      super.value = this.mapper.transform(source.value);
+      return true;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return source.getTail().map(this.mapper);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of filter.
+   */
+  private static final class Filtered extends DoubleInfiniteList {
+    private final DoubleBooleanCondition predicate;
+
+    /**
+     * Private constructor for the creation of a Filtered.
+     *
+     * @param source The node that is filtered.
+     * @param predicate BooleanCondition that filters each item in the list.
+     */
+    private Filtered(DoubleInfiniteList source, DoubleBooleanCondition predicate) {
+      super(source);
+      this.predicate = predicate;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      if (!source.isPresent()) {
+        return false;
+      }
+      super.value = source.value;
+      return this.predicate.test(source.value);
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return source.getTail().filter(this.predicate);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of limit.
+   */
+  private static final class Limited extends DoubleInfiniteList {
+    private final long n;
+
+    /**
+     * Private constructor for the creation of a Limited.
+     *
+     * @param source The node that is limited.
+     * @param n The number of items kept from the source on, at least 1.
+     */
+    private Limited(DoubleInfiniteList source, long n) {
+      super(source);
+      this.n = n;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      boolean present = source.isPresent();
+      super.value = source.value;
+      return present;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return source.getTail().limit(super.isPresent() ? this.n - 1 : this.n);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of takeWhile.
+   */
+  private static final class TakenWhile extends DoubleInfiniteList {
+    private final DoubleBooleanCondition predicate;
+
+    /**
+     * Private constructor for the creation of a TakenWhile.
+     *
+     * @param source The node that is truncated.
+     * @param predicate BooleanCondition that checks each element.
+     */
+    private TakenWhile(DoubleInfiniteList source, DoubleBooleanCondition predicate) {
+      super(source);
+      this.predicate = predicate;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      if (!source.isPresent()) {
+        return false;
+      }
+      super.value = source.value;
+      return this.predicate.test(source.value);
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return !source.isPresent() || super.isPresent()
+           ? source.getTail().takeWhile(this.predicate)
+           : DoubleInfiniteList.sentinel();
+    }
+  }
+
+  /**
+   * Method that memoizes the items of the DoubleInfiniteList off the heap.
+   * Each item is evaluated once, the first time any node of the result
+   * reaches it, and stored in the given memory.  The nodes of the result
+   * are made afresh from their index whenever reached, instead of being
+   * kept, so that however long the memoized prefix is, the heap holds only
+   * the index of its segments.  Reading an item not yet read through a
+   * node after the memory is closed throws IllegalStateException.
+   *
+   * @param memory The off-heap memory to store the items in.
+   * @return DoubleInfiniteList with the same items.
+   * @throws IllegalStateException if the memory is closed.
+   */
+  public DoubleInfiniteList offHeap(OffHeap memory) {
+    return new Stored(new Store(this, memory.segments(Double.BYTES)), 0);
+  }
+
+  /**
+   * Static nested class for the items of a list stored off the heap, and
+   * the node of the list up to which they are stored.
+   */
+  private static final class Store {
+    private final OffHeap.Segments segments;
+
+    /**
+     * The first node not yet stored, or null at the end of the list.
+     */
+    private DoubleInfiniteList cursor;
+
+    /**
+     * Whether the end of the list has been stored.
+     */
+    private volatile boolean ended;
+
+    /**
+     * The number of items stored.  Volatile so that an item stored by one
+     * thread can be read by others without the lock.
+     */
+    private volatile long count;
+
+    /**
+     * Private constructor for the creation of a Store.
+     *
+     * @param list The list whose items are stored.
+     * @param segments The off-heap storage.
+     */
+    private Store(DoubleInfiniteList list, OffHeap.Segments segments) {
+      this.segments = segments;
+      this.cursor = list;
+      this.ended = false;
+      this.count = 0;
+    }
+
+    /**
+     * Method that stores items until item k is stored or the list ends.
+     *
+     * @param k The index of the item.
+     * @return True if item k exists.
+     */
+    private boolean fill(long k) {
+      if (k < this.count) {
+        return true;
+      }
+      synchronized (this) {
+        while (this.count <= k && this.cursor != null) {
+          DoubleInfiniteList first = this.cursor.skipAbsent();
+          if (first.isSentinel()) {
+            this.cursor = null;
+            this.ended = true;
+          } else {
+            this.segments.putDouble(this.count, first.value);
+            this.count = this.count + 1;
+            this.cursor = first.getTail();
+          }
+        }
+        return k < this.count;
+      }
+    }
+
+    /**
+     * Method that checks whether the list is known to end before item k.
+     *
+     * @param k The index of the item.
+     * @return True if item k is known not to exist.
+     */
+    private boolean endsBefore(long k) {
+      return this.ended && k >= this.count;
+    }
+  }
+
+  /**
+   * Static nested class for the node of a list stored off the heap at a
+   * given index.  Its head is read from the store, and its tail is a new
+   * node every time, so that no chain of nodes is kept.
+   */
+  private static final class Stored extends DoubleInfiniteList {
+    private final Store store;
+    private final long index;
+
+    /**
+     * Private constructor for the creation of a Stored.
+     *
+     * @param store The store.
+     * @param index The index of the item.
+     */
+    private Stored(Store store, long index) {
+      super();
+      this.store = store;
+      this.index = index;
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      if (!this.store.fill(this.index)) {
+        return false;
+      }
+      super.value = this.store.segments.getDouble(this.index);
+      return true;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return this.store.endsBefore(this.index + 1)
+           ? DoubleInfiniteList.sentinel()
+           : new Stored(this.store, this.index + 1);
+    }
+
+    @Override
+    DoubleInfiniteList getTail() {
+      return this.evaluateTail(null);
+    }
+  }
+
+  /**
+   * Static nested class used to mark the end of a finite list.
+   */
+  private static final class Sentinel extends DoubleInfiniteList {
+    /**
+     * Private constructor for the creation of a Sentinel.
+     */
+    private Sentinel() {
+      super();
+    }
+
+    @Override
+    boolean evaluateHead(DoubleInfiniteList source) {
+      return false;
+    }
+
+    @Override
+    DoubleInfiniteList evaluateTail(DoubleInfiniteList source) {
+      return this;
+    }
+
+    @Override
+    public double head() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public DoubleInfiniteList tail() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public DoubleInfiniteList map(DoubleTransformer mapper) {
+      return DoubleInfiniteList.sentinel();
+    }
+
+    @Override
+    public DoubleInfiniteList filter(DoubleBooleanCondition predicate) {
+      return DoubleInfiniteList.sentinel();
+    }
+
+    @Override
+    public DoubleInfiniteList offHeap(OffHeap memory) {
+      return DoubleInfiniteList.sentinel();
+    }
+
+    @Override
+    public boolean isSentinel() {
+      return true;
+    }
+
+    @Override
+    public DoubleInfiniteList limit(long n) {
+      return DoubleInfiniteList.sentinel();
+    }
+
+    @Override
+    public DoubleInfiniteList takeWhile(DoubleBooleanCondition predicate) {
+      return DoubleInfiniteList.sentinel();
+    }
+
+    @Override
+    public double reduce(double identity, DoubleBinaryCombiner accumulator) {
+      return identity;
+    }
+
+    @Override
+    public long count() {
+      return 0;
+    }
+
+    @Override
+    public double[] toArray() {
+      return new double[0];
+    }
+
+    @Override
+    public InfiniteList<Double> boxed() {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public String toString() {
+      return "-";
+    }
+  }
+
+  /**
+   * Static factory method to create an end-marker for a finite list.
+   *
+   * @return The Sentinel.
+   */
+  public static DoubleInfiniteList sentinel() {
+    return DoubleInfiniteList.SENTINEL;
+  }
+
+  /**
+   * Method to check whether this instance is a Sentinel.
+   *
+   * @return True if this instance is a Sentinel, false otherwise.
+   */
+  public boolean isSentinel() {
+    return false;
+  }
+
+  /**
+   * Method that only takes the first n items from a DoubleInfiniteList.
+   *
+   * @param n Specifies how many items are kept.
+   * @return A finite DoubleInfiniteList containing these items.
+   */
+  public DoubleInfiniteList limit(long n) {
+    return n <= 0
+         ? DoubleInfiniteList.sentinel()
+         : new Limited(this, n);
+  }
+
+  /**
+   * Method that truncates the list as soon as it finds an element
+   * that evaluates the condition to false.
+   *
+   * @param predicate BooleanCondition that checks each element.
+   * @return A truncated finite DoubleInfiniteList.
+   */
+  public DoubleInfiniteList takeWhile(DoubleBooleanCondition predicate) {
+    return new TakenWhile(this, predicate);
+  }
+
+  /**
+   * Method that applies a lambda repeatedly on the elements of the
+   * DoubleInfiniteList to reduce it into a single value.
+   *
+   * @param identity Given value to start the operation.
+   * @param accumulator Combiner that combines elements in the DoubleInfiniteList.
+   * @return A single double value.
+   */
+  public double reduce(double identity, DoubleBinaryCombiner accumulator) {
+    double result = identity;
+    DoubleInfiniteList curr = this;
+    while (!curr.isSentinel()) {
+      if (curr.isPresent()) {
+        result = accumulator.combine(result, curr.value);
+      }
+      curr = curr.getTail();
+    }
+    return result;
+  }
+
+  /**
+   * Method that calculates the length of the DoubleInfiniteList.
+   *
+   * @return The length of the DoubleInfiniteList.
+   */
+  public long count() {
+    long count = 0;
+    DoubleInfiniteList curr = this;
+    while (!curr.isSentinel()) {
+      if (curr.isPresent()) {
+        count++;
+      }
+      curr = curr.getTail();
+    }
+    return count;
+  }
+
+  /**
+   * Method used to convert a finite DoubleInfiniteList into an array.
+   *
+   * @return An array containing the items in a finite DoubleInfiniteList.
+   */
+  public double[] toArray() {
+    double[] array = new double[16];
+    int size = 0;
+    DoubleInfiniteList curr = this;
+    while (!curr.isSentinel()) {
+      if (curr.isPresent()) {
+        if (size == array.length) {
+          array = Arrays.copyOf(array, size * 2);
+        }
+        array[size++] = curr.value;
+      }
+      curr = curr.getTail();
+    }
+    return Arrays.copyOf(array, size);
+  }
+
+  /**
+   * Method that lazily boxes every item into a Double.
+   *
+   * @return An InfiniteList of Double.
+   */
+  public InfiniteList<Double> boxed() {
+    return new InfiniteList<>(Lazy.of(() -> this.isPresent()
+                                            ? Maybe.<Double>some(this.value)
+                                            : Maybe.<Double>none()),
+                              Lazy.of(() -> this.getTail().boxed()));
+  }
+
+  /**
+   * Returns the string representation of this list, in the same form as
+   * InfiniteList, where ? marks a head or tail that is not yet evaluated.
+   *
+   * @return The string representation.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    int depth = 0;
+    DoubleInfiniteList curr = this;
+    while (curr != null && !curr.isSentinel()) {
+      int state = curr.state;
+      builder.append('[')
+             .append((state & HEAD) == 0
+                     ? "?"
+                     : (state & PRESENT) != 0 ? "[" + curr.value + "]" : "[]")
+             .append(' ');
+      depth++;
+      curr = (state & TAIL) == 0 ? null : curr.next;
+    }
+    builder.append(curr == null ? "?" : curr.toString());
+    for (int k = 0; k < depth; k++) {
+      builder.append(']');
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,189 @@
+package cs2030s.fp;
+
+/**
+ * This class encapsulates lazy evalation of a double value, without boxing
+ * the value.  The producer is evaluated at most once, even when the same
+ * DoubleLazy is shared between threads.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public class DoubleLazy {
+  /**
+   * Producer that is to be lazily evaluated, or null once evaluated.
+   */
+  private volatile DoubleProducer producer;
+
+  /**
+   * Value of the double, only meaningful once the producer is null.
+   */
+  private double value;
+
+  /**
+   * Constructor that takes in concrete value.
+   *
+   * @param value The concrete value.
+   */
+  private DoubleLazy(double value) {
+    this.value = value;
+  }
+
+  /**
+   * Constructor that takes in producer.
+   *
+   * @param producer The producer that is to be lazily evaluated.
+   */
+  private DoubleLazy(DoubleProducer producer) {
+    this.producer = producer;
+  }
+
+  /**
+   * Static factory method that takes in value.
+   *
+   * @param value The value that is already evaluated.
+   * @return Instance of DoubleLazy.
+   */
+  public static DoubleLazy of(double value) {
+    return new DoubleLazy(value);
+  }
+
+  /**
+   * Static factory method that takes in producer.
+   *
+   * @param producer The producer that is to be lazily evaluated.
+   * @return Instance of DoubleLazy.
+   */
+  public static DoubleLazy of(DoubleProducer producer) {
+    return new DoubleLazy(producer);
+  }
+
+  /**
+   * Evaluate the value if not yet done so and then return it.
+   *
+   * @return Content of type double.
+   */
+  public double get() {
+    if (this.producer != null) {
+      synchronized (this) {
+        DoubleProducer producer = this.producer;
+        if (producer != null) {
+          this.value = producer.produce();
+          this.producer = null;
+        }
+      }
+    }
+    return this.value;
+  }
+
+  /**
+   * Lazily transforms the content.
+   *
+   * @param transformer Transformer that takes in a double and returns a double.
+   * @return Instance of DoubleLazy.
+   */
+  public DoubleLazy map(DoubleTransformer transformer) {
+    return DoubleLazy.of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content into an object.
+   *
+   * @param <U>   Type parameter.
+   * @param transformer Transformer that takes in a double and returns some type U.
+   * @return Instance of Lazy of type U.
+   */
+  public <U> Lazy<U> mapToObj(DoubleToObjTransformer<? extends U> transformer) {
+    return Lazy.<U>of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content.
+   *
+   * @param transformer Transformer that takes in a double and returns a DoubleLazy.
+   * @return Instance of DoubleLazy.
+   */
+  public DoubleLazy flatMap(DoubleToObjTransformer<? extends DoubleLazy> transformer) {
+    return DoubleLazy.of(() -> transformer.transform(this.get()).get());
+  }
+
+  /**
+   * Tests the content, evaluating it if not yet done so.  Unlike filter, it
+   * returns the boolean itself, so that nothing is allocated.
+   *
+   * @param booleanCondition booleanCondition that takes in a double.
+   * @return Whether the content passes the condition.
+   */
+  public boolean test(DoubleBooleanCondition booleanCondition) {
+    return booleanCondition.test(this.get());
+  }
+
+  /**
+   * Lazily tests the content.  Use test where the result is needed at
+   * once, since this boxes it in a Lazy.
+   *
+   * @param booleanCondition booleanCondition that takes in a double.
+   * @return A boolean value encapsulated in Lazy.
+   */
+  public Lazy<Boolean> filter(DoubleBooleanCondition booleanCondition) {
+    return Lazy.<Boolean>of(() -> booleanCondition.test(this.get()));
+  }
+
+  /**
+   * Combine two instances of DoubleLazy.
+   *
+   * @param otherLazy Secondary instance of DoubleLazy to combine with.
+   * @param combiner Combiner that combines the two values.
+   * @return returns an instance of DoubleLazy.
+   */
+  public DoubleLazy combine(DoubleLazy otherLazy, DoubleBinaryCombiner combiner) {
+    return DoubleLazy.of(() -> combiner.combine(this.get(), otherLazy.get()));
+  }
+
+  /**
+   * Lazily boxes the content.
+   *
+   * @return Instance of Lazy of type Double.
+   */
+  public Lazy<Double> boxed() {
+    return Lazy.<Double>of(() -> this.get());
+  }
+
+  /**
+   * Checks if given object is equal to this instance.
+   *
+   * @param obj Object that is to be compared to.
+   * @return Boolean of whether they are equal.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (obj instanceof DoubleLazy) {
+      return Double.compare(this.get(), ((DoubleLazy) obj).get()) == 0;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the hash code of the content, evaluating it if needed.
+   *
+   * @return The hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Double.hashCode(this.get());
+  }
+
+  /**
+   * Returns the string representation of this instance.
+   *
+   * @return The string representation.
+   */
+  @Override
+  public String toString() {
+    return this.producer == null ? String.valueOf(this.value) : "?";
+  }
+}
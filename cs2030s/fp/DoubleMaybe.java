@@ -0,0 +1,268 @@
+package cs2030s.fp;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class encapsulates a double value that may be missing, without boxing
+ * the value.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public abstract class DoubleMaybe {
+
+  private static final None empty = new None();
+
+  /*
+   * Static nested class.
+   */
+  private static final class None extends DoubleMaybe {
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof None;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    protected double get() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public boolean isPresent() {
+      return false;
+    }
+
+    @Override
+    public DoubleMaybe filter(DoubleBooleanCondition booleanCondition) {
+      return DoubleMaybe.none();
+    }
+
+    @Override
+    public DoubleMaybe map(DoubleTransformer transformer) {
+      return DoubleMaybe.none();
+    }
+
+    @Override
+    public <U> Maybe<U> mapToObj(DoubleToObjTransformer<? extends U> transformer) {
+      return Maybe.<U>none();
+    }
+
+    @Override
+    public DoubleMaybe flatMap(DoubleToObjTransformer<? extends DoubleMaybe> transformer) {
+      return DoubleMaybe.none();
+    }
+
+    @Override
+    public double orElse(double other) {
+      return other;
+    }
+
+    @Override
+    public double orElseGet(DoubleProducer producer) {
+      return producer.produce();
+    }
+
+    @Override
+    public void ifPresent(DoubleConsumer consumer) {
+      return;
+    }
+
+    @Override
+    public Maybe<Double> boxed() {
+      return Maybe.<Double>none();
+    }
+
+    @Override
+    public String toString() {
+      return "[]";
+    }
+  }
+
+  /*
+   * Immutable static nested class.
+   */
+  private static final class Some extends DoubleMaybe {
+    private final double item;
+
+    private Some(double item) {
+      this.item = item;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+
+      if (obj instanceof Some) {
+        return Double.compare(this.item, ((Some) obj).item) == 0;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Double.hashCode(this.item);
+    }
+
+    @Override
+    protected double get() {
+      return this.item;
+    }
+
+    @Override
+    public boolean isPresent() {
+      return true;
+    }
+
+    @Override
+    public DoubleMaybe filter(DoubleBooleanCondition booleanCondition) {
+      return booleanCondition.test(this.item) ? this : DoubleMaybe.none();
+    }
+
+    @Override
+    public DoubleMaybe map(DoubleTransformer transformer) {
+      return DoubleMaybe.some(transformer.transform(this.item));
+    }
+
+    @Override
+    public <U> Maybe<U> mapToObj(DoubleToObjTransformer<? extends U> transformer) {
+      return Maybe.<U>some(transformer.transform(this.item));
+    }
+
+    @Override
+    public DoubleMaybe flatMap(DoubleToObjTransformer<? extends DoubleMaybe> transformer) {
+      return transformer.transform(this.item);
+    }
+
+    @Override
+    public double orElse(double other) {
+      return this.item;
+    }
+
+    @Override
+    public double orElseGet(DoubleProducer producer) {
+      return this.item;
+    }
+
+    @Override
+    public void ifPresent(DoubleConsumer consumer) {
+      consumer.consume(this.item);
+    }
+
+    @Override
+    public Maybe<Double> boxed() {
+      return Maybe.<Double>some(this.item);
+    }
+
+    @Override
+    public String toString() {
+      return "[" + this.item + "]";
+    }
+  }
+
+  /**
+   * Static factory method for a missing value.
+   *
+   * @return The empty DoubleMaybe.
+   */
+  public static DoubleMaybe none() {
+    return DoubleMaybe.empty;
+  }
+
+  /**
+   * Static factory method for a present value.
+   *
+   * @param x The value.
+   * @return a DoubleMaybe containing x.
+   */
+  public static DoubleMaybe some(double x) {
+    return new Some(x);
+  }
+
+  /**
+   * Returns the value, for use within this package only.
+   *
+   * @return The value.
+   * @throws NoSuchElementException if the value is missing.
+   */
+  protected abstract double get();
+
+  /**
+   * Checks whether the value is present.
+   *
+   * @return True if the value is present, false otherwise.
+   */
+  public abstract boolean isPresent();
+
+  /**
+   * Keeps the value only if it passes the given condition.
+   *
+   * @param booleanCondition The condition to test the value with.
+   * @return This DoubleMaybe if the value passes, or none otherwise.
+   */
+  public abstract DoubleMaybe filter(DoubleBooleanCondition booleanCondition);
+
+  /**
+   * Transforms the value if present.
+   *
+   * @param transformer The transformer to apply.
+   * @return a DoubleMaybe of the transformed value.
+   */
+  public abstract DoubleMaybe map(DoubleTransformer transformer);
+
+  /**
+   * Transforms the value into an object if present.
+   *
+   * @param <U> The type of the transformed value.
+   * @param transformer The transformer to apply.
+   * @return A Maybe of the transformed value.
+   */
+  public abstract <U> Maybe<U> mapToObj(DoubleToObjTransformer<? extends U> transformer);
+
+  /**
+   * Transforms the value into another DoubleMaybe if present.
+   *
+   * @param transformer The transformer to apply.
+   * @return The DoubleMaybe returned by the transformer, or none.
+   */
+  public abstract DoubleMaybe flatMap(DoubleToObjTransformer<? extends DoubleMaybe> transformer);
+
+  /**
+   * Returns the value if present, or the given value otherwise.
+   *
+   * @param other The value to return if missing.
+   * @return The value or other.
+   */
+  public abstract double orElse(double other);
+
+  /**
+   * Returns the value if present, or the value produced otherwise.
+   *
+   * @param producer The producer to call if missing.
+   * @return The value or the produced value.
+   */
+  public abstract double orElseGet(DoubleProducer producer);
+
+  /**
+   * If the value within this DoubleMaybe is missing, do nothing.
+   * Otherwise, consume the value with the given consumer.
+   *
+   * @param consumer The consumer to consume the value
+   */
+  public abstract void ifPresent(DoubleConsumer consumer);
+
+  /**
+   * Boxes the value into a Maybe.
+   *
+   * @return A Maybe of Double.
+   */
+  public abstract Maybe<Double> boxed();
+}
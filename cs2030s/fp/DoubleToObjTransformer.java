@@ -0,0 +1,19 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that transforms a double value into a value of another type.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ *
+ * @param <T> The type of the result value
+ */
+@FunctionalInterface
+public interface DoubleToObjTransformer<T> {
+  /**
+   * The function method to transform the value x.
+   *
+   * @param x The input value
+   * @return The value after applying the given transformation on x.
+   */
+  T transform(double x);
+}
@@ -0,0 +1,17 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that transforms one double value into another.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface DoubleTransformer {
+  /**
+   * The function method to transform the value x.
+   *
+   * @param x The input value
+   * @return The value after applying the given transformation on x.
+   */
+  double transform(double x);
+}
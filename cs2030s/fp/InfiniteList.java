@@ -1,8 +1,25 @@
 package cs2030s.fp;
 
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -22,325 +39,2578 @@ public class InfiniteList<T> {
    * Tail of the list.
    */
   private final Lazy<InfiniteList<T>> tail;
+
+  /**
+   * The fused run of map and filter stages that produced this list, or null
+   * if this list is not the result of map or filter.
+   */
+  private final Stage<?, T> stage;
+
+  /**
+   * The number of items in this list, if every head is known to be present
+   * without evaluating it: INFINITE for iterate and generate, kept by map and
+   * bounded by limit.  UNKNOWN if some heads may be None, or an upper bound
+   * on the number of items, encoded by atMost, if some heads may be None but
+   * the list is known to be short, as after filter or limit.
+   */
+  private final long size;
+
+  /**
+   * Size of a list whose heads are all present and which never ends.
+   */
+  private static final long INFINITE = -1;
+
+  /**
+   * Size of a list whose heads may be None.
+   */
+  private static final long UNKNOWN = -2;
+
+  /**
+   * Size of a list whose heads may be None and which has no items.  A size
+   * of BOUNDED - n is a list of at most n items.
+   */
+  private static final long BOUNDED = -3;
+
+  /**
+   * The largest bound of a list of unknown size that toList() allocates
+   * for up front.  Larger or unknown bounds start at the ArrayList default.
+   */
+  private static final int SMALL_BOUND = 1 << 12;
+
+  /**
+   * The default capacity of an ArrayList.
+   */
+  private static final int DEFAULT_CAPACITY = 10;
   
   /**
-   * A cached SENTINEL to mark the end of a finite list.
+   * A cached SENTINEL to mark the end of a finite list.
+   */
+  private static final InfiniteList<Object> SENTINEL = new Sentinel();
+
+  /**
+   * Constructor for Sentinel and Chunked, which keep no head or tail.
+   *
+   * @param size The number of items, INFINITE, UNKNOWN or an upper bound.
+   */
+  private InfiniteList(long size) { 
+    this.head = null; 
+    this.tail = null;
+    this.stage = null;
+    this.size = size;
+  }
+
+  /**
+   * Static method that creates an InfiniteList from the producer.
+   *
+   * @param <T> Parameterised type.
+   * @param producer Producer that produces every item in the list.
+   * @return InfiniteList.
+   */
+  public static <T> InfiniteList<T> generate(Producer<T> producer) {
+    return Source.of(memo -> InfiniteList.generate(producer, memo), MemoPolicy.ALL);
+  }
+
+  /**
+   * Static method that creates an InfiniteList from the producer, which
+   * memoizes according to the given policy.
+   *
+   * @param <T> Parameterised type.
+   * @param producer Producer that produces every item in the list.
+   * @param memo The memoization policy.
+   * @return InfiniteList.
+   */
+  private static <T> InfiniteList<T> generate(Producer<T> producer, MemoPolicy memo) {
+    return new InfiniteList<>(memo.lazy(() -> Maybe.some(producer.produce())),
+                              memo.lazy(() -> InfiniteList.generate(producer, memo)),
+                              null, INFINITE);
+  }
+
+  /**
+   * Static method that creates an InfiniteList from a slow producer, which
+   * is called in the background up to lookahead items ahead of the last
+   * node reached, on the default executor of Lazy.async.
+   *
+   * @param <T> Parameterised type.
+   * @param producer Producer that produces every item in the list.
+   * @param lookahead The number of items to produce ahead.
+   * @return InfiniteList.
+   */
+  public static <T> InfiniteList<T> generate(Producer<T> producer, int lookahead) {
+    return InfiniteList.generate(producer, lookahead, Lazy.asyncExecutor());
+  }
+
+  /**
+   * Static method that creates an InfiniteList from a slow producer, which
+   * is called in the background up to lookahead items ahead of the last
+   * node reached.  Prefetching starts when the head or tail of the list is
+   * first evaluated, not when the list is created, and every time a tail is
+   * evaluated it is topped up.  The producer is called
+   * one item at a time, in order, so the items are in the order produced.
+   * If the producer throws, the head of that item throws the same exception
+   * every time it is evaluated, and the items after it are still produced.
+   *
+   * @param <T> Parameterised type.
+   * @param producer Producer that produces every item in the list.
+   * @param lookahead The number of items to produce ahead.
+   * @param executor The executor to call the producer on.
+   * @return InfiniteList.
+   * @throws IllegalArgumentException if lookahead is not positive.
+   */
+  public static <T> InfiniteList<T> generate(Producer<T> producer, int lookahead,
+                                             Executor executor) {
+    if (lookahead <= 0) {
+      throw new IllegalArgumentException("lookahead must be positive: " + lookahead);
+    }
+    Prefetcher<T> prefetcher = new Prefetcher<>(producer, lookahead, executor);
+    Lazy<InfiniteList<T>> first = Lazy.of(() -> InfiniteList.prefetched(prefetcher));
+    return new InfiniteList<>(Lazy.of(() -> first.get().head.get()),
+                              Lazy.of(() -> first.get().tail.get()),
+                              null, INFINITE);
+  }
+
+  /**
+   * Static method that creates a node whose head is the next item of the
+   * prefetcher.
+   *
+   * @param <T> Parameterised type.
+   * @param prefetcher The prefetcher to take items from.
+   * @return InfiniteList of type T.
+   */
+  private static <T> InfiniteList<T> prefetched(Prefetcher<T> prefetcher) {
+    return new InfiniteList<>(prefetcher.next(),
+                              Lazy.of(() -> InfiniteList.prefetched(prefetcher)),
+                              null, INFINITE);
+  }
+
+  /**
+   * Static nested class that calls a producer in the background, one item
+   * after another, keeping a bounded number of items ahead of the consumer.
+   */
+  private static final class Prefetcher<T> {
+    private final Producer<T> producer;
+    private final int lookahead;
+    private final Executor executor;
+
+    /**
+     * The items produced or being produced, but not yet taken.
+     */
+    private final Deque<CompletableFuture<Maybe<T>>> ahead;
+
+    /**
+     * Completes once the last item scheduled is produced, successfully or
+     * not, so that the next one can start.
+     */
+    private CompletableFuture<Void> last;
+
+    /**
+     * Private constructor for the creation of a Prefetcher.
+     *
+     * @param producer Producer that produces every item.
+     * @param lookahead The number of items to produce ahead.
+     * @param executor The executor to call the producer on.
+     */
+    private Prefetcher(Producer<T> producer, int lookahead, Executor executor) {
+      this.producer = producer;
+      this.lookahead = lookahead;
+      this.executor = executor;
+      this.ahead = new ArrayDeque<>();
+      this.last = CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Method that takes the next item, after scheduling enough items to
+     * stay lookahead items ahead of it.
+     *
+     * @return Lazy of the next item, which waits for it to be produced.
+     */
+    private synchronized Lazy<Maybe<T>> next() {
+      while (this.ahead.size() <= this.lookahead) {
+        CompletableFuture<Maybe<T>> item = this.last.thenApplyAsync(
+            done -> Maybe.some(this.producer.produce()), this.executor);
+        this.ahead.addLast(item);
+        this.last = item.handle((value, e) -> null);
+      }
+      return Lazy.of(this.ahead.removeFirst(), this.executor);
+    }
+  }
+
+  /**
+   * Static method that creates an InfiniteList from an initial seed and a transformer.
+   *
+   * @param <T> Parameterised type.
+   * @param seed Initial item.
+   * @param next Transformer that produces subsequent items.
+   * @return InfiniteList.
+   */
+  public static <T> InfiniteList<T> iterate(T seed, Transformer<T, T> next) {
+    return Source.of(memo -> InfiniteList.iterate(seed, next, memo), MemoPolicy.ALL);
+  }
+
+  /**
+   * Static method that creates an InfiniteList from an initial seed and a
+   * transformer, which memoizes according to the given policy.
+   *
+   * @param <T> Parameterised type.
+   * @param seed Initial item.
+   * @param next Transformer that produces subsequent items.
+   * @param memo The memoization policy.
+   * @return InfiniteList.
+   */
+  private static <T> InfiniteList<T> iterate(T seed, Transformer<T, T> next, MemoPolicy memo) {
+    return new InfiniteList<>(seed, () -> InfiniteList.iterate(next.transform(seed), next, memo),
+                              memo);
+  }
+
+  /**
+   * Constructor for iterate.
+   *
+   * @param head First element in the list.
+   * @param tail Producer that produces the tail.
+   * @param memo The memoization policy.
+   */
+  private InfiniteList(T head, Producer<InfiniteList<T>> tail, MemoPolicy memo) {
+    this.head = memo.value(Maybe.some(head));
+    this.tail = memo.lazy(tail);
+    this.stage = null;
+    this.size = INFINITE;
+  }
+
+  /**
+   * Constructor for generate.  Package-private so that the primitive lists
+   * in this package can box their items back into an InfiniteList.
+   *
+   * @param head Lazy of a Maybe of an item.
+   * @param tail Lazy of an InfiniteList.
+   */
+  InfiniteList(Lazy<Maybe<T>> head, Lazy<InfiniteList<T>> tail) {
+    this(head, tail, null, UNKNOWN);
+  }
+
+  /**
+   * Constructor for a node that may start a fused run of map and filter
+   * stages, or whose heads are known to be present.
+   *
+   * @param head Lazy of a Maybe of an item.
+   * @param tail Lazy of an InfiniteList.
+   * @param stage The fused stages that produce this list, or null.
+   * @param size The number of items, INFINITE, UNKNOWN or an upper bound.
+   */
+  private InfiniteList(Lazy<Maybe<T>> head, Lazy<InfiniteList<T>> tail,
+                       Stage<?, T> stage, long size) {
+    this.head = head;
+    this.tail = tail;
+    this.stage = stage;
+    this.size = size;
+  }
+
+  /**
+   * Method to retrieve the non-None head item.
+   *
+   * @return Item of parameterised type.
+   */
+  public T head() {
+    InfiniteList<T> curr = this;
+    while (!curr.isSentinel()) {
+      Maybe<T> head = curr.headMaybe();
+      if (!head.equals(Maybe.none())) {
+        return head.orElse(null);
+      }
+      curr = curr.tailList();
+    }
+    throw new NoSuchElementException();
+  }
+
+  /**
+   * Method to retrieve the tail after the first none-None item.
+   *
+   * @return InfiniteList of parameterised type.
+   */
+  public InfiniteList<T> tail() {
+    InfiniteList<T> first = this.skipNone();
+    if (first.isSentinel()) {
+      throw new NoSuchElementException();
+    }
+    return first.tailList();
+  }
+
+  /**
+   * Method that skips over the leading None items in a loop, so that long
+   * runs of filtered-out items do not use up the stack.
+   *
+   * @return The first node with a non-None head, or a Sentinel.
+   */
+  private InfiniteList<T> skipNone() {
+    InfiniteList<T> curr = this;
+    while (!curr.isSentinel() && curr.headMaybe().equals(Maybe.none())) {
+      curr = curr.tailList();
+    }
+    return curr;
+  }
+
+  /**
+   * Method to retrieve the head of this node, which may be None.  Every walk
+   * over the nodes of a list goes through it rather than the head field,
+   * which a Chunked does not have.
+   *
+   * @return Maybe of the head item.
+   */
+  Maybe<T> headMaybe() {
+    return this.head.get();
+  }
+
+  /**
+   * Method to retrieve the tail of this node, without skipping None items.
+   * Every walk over the nodes of a list goes through it rather than the
+   * tail field, which a Chunked does not have.
+   *
+   * @return InfiniteList of parameterised type.
+   */
+  InfiniteList<T> tailList() {
+    return this.tail.get();
+  }
+
+  /**
+   * Method to retrieve the memoized head of this node without evaluating
+   * it, so that it can be evaluated later on another thread.
+   *
+   * @return Lazy of a Maybe of the head item.
+   */
+  Lazy<Maybe<T>> headLazy() {
+    return this.head;
+  }
+
+  /**
+   * Method to retrieve the memoized tail of this node without evaluating
+   * it, so that another node can share it.
+   *
+   * @return Lazy of the tail.
+   */
+  Lazy<InfiniteList<T>> tailLazy() {
+    return this.tail;
+  }
+
+  /**
+   * Method to retrieve the memoization policy of this node, which new nodes
+   * built from it keep.
+   *
+   * @return The memoization policy.
+   */
+  MemoPolicy memo() {
+    return MemoPolicy.of(this.tail);
+  }
+
+  /**
+   * Static method that encodes a size for a list of at most n items, some
+   * of whose heads may be None.
+   *
+   * @param n The upper bound, or Long.MAX_VALUE if there is none.
+   * @return The size.
+   */
+  private static long atMost(long n) {
+    return n == Long.MAX_VALUE ? UNKNOWN : BOUNDED - n;
+  }
+
+  /**
+   * Method that returns the upper bound on the number of items in this
+   * list that its size gives.
+   *
+   * @return The upper bound, or Long.MAX_VALUE if there is none.
+   */
+  private long bound() {
+    return this.size >= 0
+         ? this.size
+         : this.size <= BOUNDED
+         ? BOUNDED - this.size
+         : Long.MAX_VALUE;
+  }
+
+  /**
+   * Method that checks whether every head of this list is known to be
+   * present, so that its size counts its nodes.
+   *
+   * @return True if every head is present.
+   */
+  private boolean isDense() {
+    return this.size >= 0 || this.size == INFINITE;
+  }
+
+  /**
+   * Method that returns this list with its map and filter stages to be
+   * fused: a run of map and filter calls on the result is applied to each
+   * item in one node and one Lazy, rather than in a node and a Lazy per
+   * stage.  The lists in the middle of such a run do not share their
+   * memoized items with the lists after them, which apply their own copy
+   * of the stages, so a stage is evaluated again on an item that more than
+   * one of them reads.  It is meant for a chain whose intermediate lists
+   * are not kept.
+   *
+   * @return InfiniteList with the same items.
+   */
+  public InfiniteList<T> fused() {
+    if (this.isSentinel() || this.stage != null) {
+      return this;
+    }
+    return new Stage<T, T>(this, head -> head, true).start();
+  }
+
+  /**
+   * Maps the InfiniteList.  On a list from fused(), adjacent map and filter
+   * stages are fused, so that each item passes through all of them in one
+   * node and one Lazy.
+   *
+   * @param <R> parameterised type.
+   * @param mapper Transformer that transforms each item in the list.
+   * @return InfiniteList of type R.
+   */
+  public <R> InfiniteList<R> map(Transformer<? super T, ? extends R> mapper) {
+    return this.then(head -> head.map(mapper), true);
+  }
+
+  /**
+   * Filters the InfiniteList.  On a list from fused(), adjacent map and
+   * filter stages are fused in the same way as for map.
+   *
+   * @param predicate BooleanCondition that filters each item in the list.
+   * @return InfiniteList.
+   */
+  public InfiniteList<T> filter(BooleanCondition<? super T> predicate) {
+    return this.then(head -> head.filter(predicate), false);
+  }
+
+  /**
+   * Method that appends a map or filter stage, fusing it with the stages
+   * that produced this list if it is from fused().
+   *
+   * @param <R> Parameterised type.
+   * @param next The stage to append, as a function on the Maybe of each item.
+   * @param keepsSize Whether next keeps every present head present.
+   * @return InfiniteList of type R.
+   */
+  private <R> InfiniteList<R> then(Transformer<Maybe<T>, Maybe<R>> next, boolean keepsSize) {
+    if (this.stage == null) {
+      return InfiniteList.fuse(this, next, keepsSize);
+    }
+    Stage<?, R> fused = this.stage.then(next, keepsSize);
+    return (fused == null ? new Stage<>(this, next, keepsSize) : fused).start();
+  }
+
+  /**
+   * Static method that applies a stage, or fused stages, to every node of
+   * a list.
+   *
+   * @param <S> Parameterised type of the source list.
+   * @param <T> Parameterised type of the result.
+   * @param source The list to apply the stages to.
+   * @param function The stages, as one function.
+   * @param keepsSize Whether the stages keep every present head present.
+   * @return InfiniteList of type T.
+   */
+  private static <S, T> InfiniteList<T> fuse(InfiniteList<S> source,
+                                             Transformer<Maybe<S>, Maybe<T>> function,
+                                             boolean keepsSize) {
+    if (source.isSentinel()) {
+      return InfiniteList.sentinel();
+    }
+    MemoPolicy memo = source.memo();
+    return new InfiniteList<>(memo.lazy(() -> function.transform(source.headMaybe())),
+                              memo.lazy(() -> InfiniteList.fuse(source.tailList(), function,
+                                                                keepsSize)),
+                              null, keepsSize
+                                    ? source.size
+                                    : InfiniteList.atMost(source.bound()));
+  }
+
+  /**
+   * Static nested class for a fused run of map and filter stages: the list
+   * they are applied to, and one function that applies all of them to the
+   * Maybe of an item.  The source is let go once the list these stages
+   * start has been traversed, so that it can be garbage-collected; stages
+   * appended after that are no longer fused.
+   */
+  private static final class Stage<S, T> {
+    /**
+     * The list that the stages are applied to, or null once let go.
+     */
+    private volatile InfiniteList<S> source;
+
+    /**
+     * The fused stages.
+     */
+    private final Transformer<Maybe<S>, Maybe<T>> function;
+
+    /**
+     * Whether the stages keep every present head present, that is, whether
+     * they are all maps.
+     */
+    private final boolean keepsSize;
+
+    /**
+     * Private constructor for the creation of a Stage.
+     *
+     * @param source The list that the stages are applied to.
+     * @param function The fused stages.
+     * @param keepsSize Whether the stages keep every present head present.
+     */
+    private Stage(InfiniteList<S> source, Transformer<Maybe<S>, Maybe<T>> function,
+                  boolean keepsSize) {
+      this.source = source;
+      this.function = function;
+      this.keepsSize = keepsSize;
+    }
+
+    /**
+     * Method that fuses one more stage after these.
+     *
+     * @param <R> Parameterised type.
+     * @param next The stage to fuse.
+     * @param keepsSize Whether next keeps every present head present.
+     * @return The fused stages, or null if the source has been let go.
+     */
+    private <R> Stage<S, R> then(Transformer<Maybe<T>, Maybe<R>> next, boolean keepsSize) {
+      InfiniteList<S> source = this.source;
+      Transformer<Maybe<S>, Maybe<T>> function = this.function;
+      return source == null
+           ? null
+           : new Stage<>(source, head -> next.transform(function.transform(head)),
+                         this.keepsSize && keepsSize);
+    }
+
+    /**
+     * Method that creates the first node of the list produced by these stages.
+     *
+     * @return InfiniteList of type T.
+     */
+    private InfiniteList<T> start() {
+      InfiniteList<S> source = this.source;
+      MemoPolicy memo = source.memo();
+      return new InfiniteList<>(memo.lazy(() -> this.function.transform(source.headMaybe())),
+                                memo.lazy(() -> {
+                                  this.source = null;
+                                  return InfiniteList.fuse(source.tailList(), this.function,
+                                                           this.keepsSize);
+                                }),
+                                this, this.keepsSize
+                                      ? source.size
+                                      : InfiniteList.atMost(source.bound()));
+    }
+  }
+
+  /**
+   * Maps the InfiniteList, evaluating the transformer on up to parallelism
+   * upcoming items at a time on the common ForkJoinPool.
+   *
+   * @param <R> parameterised type.
+   * @param mapper Transformer that maps each item.
+   * @param parallelism The number of items to map at a time.
+   * @return InfiniteList of type R.
+   */
+  public <R> InfiniteList<R> mapParallel(Transformer<? super T, ? extends R> mapper,
+                                         int parallelism) {
+    return this.mapParallel(mapper, parallelism, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Maps the InfiniteList, evaluating the transformer on up to parallelism
+   * upcoming items at a time on the given executor.  Nothing is evaluated
+   * until the head or tail of the result is.  From then on, each node
+   * reached keeps the items after it scheduled, parallelism in all, and
+   * the items stay in their original order.  The upstream heads are
+   * evaluated on the executor too.  If the transformer throws, the head of
+   * that item throws the same exception every time it is evaluated.
+   *
+   * @param <R> parameterised type.
+   * @param mapper Transformer that maps each item.
+   * @param parallelism The number of items to map at a time.
+   * @param executor The executor to map on.
+   * @return InfiniteList of type R.
+   * @throws IllegalArgumentException if parallelism is not positive.
+   */
+  public <R> InfiniteList<R> mapParallel(Transformer<? super T, ? extends R> mapper,
+                                         int parallelism, Executor executor) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+    }
+    Window<T, R> window = new Window<>(this, mapper, parallelism, executor);
+    Lazy<InfiniteList<R>> first = Lazy.of(() -> InfiniteList.windowed(window));
+    return new InfiniteList<>(Lazy.of(() -> first.get().isSentinel()
+                                            ? Maybe.<R>none()
+                                            : first.get().head.get()),
+                              Lazy.of(() -> first.get().isSentinel()
+                                            ? InfiniteList.sentinel()
+                                            : first.get().tail.get()));
+  }
+
+  /**
+   * Static method that creates a node whose head is the next item of the
+   * window, or a Sentinel once the window has no more items.
+   *
+   * @param <S> Parameterised type.
+   * @param <R> Parameterised type.
+   * @param window The window to take items from.
+   * @return InfiniteList of type R.
+   */
+  private static <S, R> InfiniteList<R> windowed(Window<S, R> window) {
+    Window.Slot<R> slot = window.next();
+    return slot == null
+         ? InfiniteList.sentinel()
+         : new InfiniteList<>(Lazy.of(slot.head, window.executor),
+                              Lazy.of(() -> InfiniteList.windowed(window)), null, slot.size);
+  }
+
+  /**
+   * Static nested class that maps the items of a list in parallel, keeping
+   * a bounded number of them scheduled ahead of the consumer.
+   */
+  private static final class Window<S, R> {
+    private final Transformer<? super S, ? extends R> mapper;
+    private final int parallelism;
+    private final Executor executor;
+
+    /**
+     * The next node of the list to schedule, or a Sentinel.
+     */
+    private InfiniteList<S> frontier;
+
+    /**
+     * The items scheduled but not yet taken.
+     */
+    private final Deque<Slot<R>> ahead;
+
+    /**
+     * Private constructor for the creation of a Window.
+     *
+     * @param list The list to map.
+     * @param mapper Transformer that maps each item.
+     * @param parallelism The number of items to map at a time.
+     * @param executor The executor to map on.
+     */
+    private Window(InfiniteList<S> list, Transformer<? super S, ? extends R> mapper,
+                   int parallelism, Executor executor) {
+      this.mapper = mapper;
+      this.parallelism = parallelism;
+      this.executor = executor;
+      this.frontier = list;
+      this.ahead = new ArrayDeque<>();
+    }
+
+    /**
+     * Method that takes the next item, after scheduling enough items to
+     * keep parallelism of them under way.
+     *
+     * @return The next item, or null if the list has ended.
+     */
+    private synchronized Slot<R> next() {
+      while (this.ahead.size() < this.parallelism && !this.frontier.isSentinel()) {
+        InfiniteList<S> node = this.frontier;
+        this.ahead.addLast(new Slot<>(CompletableFuture.supplyAsync(
+            () -> node.headMaybe().<R>map(this.mapper), this.executor), node.size));
+        this.frontier = node.tailList();
+      }
+      return this.ahead.pollFirst();
+    }
+
+    /**
+     * Static nested class for an item being mapped.
+     */
+    private static final class Slot<R> {
+      private final CompletableFuture<Maybe<R>> head;
+      private final long size;
+
+      /**
+       * Private constructor for the creation of a Slot.
+       *
+       * @param head The future of the mapped head.
+       * @param size The size of the list from the node it was mapped from.
+       */
+      private Slot(CompletableFuture<Maybe<R>> head, long size) {
+        this.head = head;
+        this.size = size;
+      }
+    }
+  }
+
+  /**
+   * Maps the InfiniteList to an IntInfiniteList.
+   *
+   * @param mapper Transformer that transforms each item in the list to an int.
+   * @return IntInfiniteList.
+   */
+  public IntInfiniteList mapToInt(ToIntTransformer<? super T> mapper) {
+    return IntInfiniteList.mapFrom(this, mapper);
+  }
+
+  /**
+   * Maps the InfiniteList to a LongInfiniteList.
+   *
+   * @param mapper Transformer that transforms each item in the list to a long.
+   * @return LongInfiniteList.
+   */
+  public LongInfiniteList mapToLong(ToLongTransformer<? super T> mapper) {
+    return LongInfiniteList.mapFrom(this, mapper);
+  }
+
+  /**
+   * Maps the InfiniteList to a DoubleInfiniteList.
+   *
+   * @param mapper Transformer that transforms each item in the list to a double.
+   * @return DoubleInfiniteList.
+   */
+  public DoubleInfiniteList mapToDouble(ToDoubleTransformer<? super T> mapper) {
+    return DoubleInfiniteList.mapFrom(this, mapper);
+  }
+
+  /**
+   * Method that regroups the InfiniteList into chunks of up to size items.
+   * Each chunk is evaluated as a whole and memoized in a single array, and
+   * map, filter, limit and takeWhile on the result then work a chunk at a
+   * time instead of allocating a node per item.  This trades laziness for
+   * less per-item overhead: asking for one item evaluates its whole chunk.
+   *
+   * @param size The maximum number of items in each chunk.
+   * @return A chunked InfiniteList with the same items.
+   */
+  public InfiniteList<T> chunked(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("chunk size must be positive: " + size);
+    }
+    return new Chunked<>(Chunked.fill(this, size), 0);
+  }
+
+  /**
+   * Method that sets how the InfiniteList memoizes its heads and tails.
+   * Lists built from the result by map, filter, limit, takeWhile and
+   * chunked keep the same policy.  On a list fresh from generate or iterate,
+   * the source itself is rebuilt with the policy, so that with NONE or
+   * lastN(k) a single pass keeps only a bounded number of nodes reachable.
+   * On any other list, the nodes from here on follow the policy, but the
+   * list it is called on still memoizes as before.  With NONE or lastN(k),
+   * an item that is read again is evaluated again, which for generate calls
+   * the producer again.
+   *
+   * @param policy The memoization policy.
+   * @return InfiniteList with the same items.
+   */
+  public InfiniteList<T> cache(MemoPolicy policy) {
+    return this.memo() == policy ? this : InfiniteList.cached(this, policy);
+  }
+
+  /**
+   * Method that memoizes every item of the InfiniteList, as for
+   * cache(MemoPolicy.ALL), but keeps only the budget most recently used
+   * items on the heap.  Older items are encoded into a temporary spill file
+   * and dropped, and are decoded from it again when read, so that a list
+   * that is walked and revisited stays within a fixed heap budget for its
+   * items and never evaluates them twice.  Each item is encoded once, the
+   * first time it is spilled, and the encoder gets no None heads.  The
+   * nodes themselves, about 100 bytes each, stay on the heap.  As for
+   * cache(), a list fresh from generate or iterate is rebuilt, and any
+   * other list keeps memoizing as before.  Lists built from the result
+   * memoize as for ALL, as the encoder is for items of type T only.  I/O
+   * errors are thrown as UncheckedIOException by whichever read of the
+   * list spills or reads back an item.
+   *
+   * @param budget The number of items to keep on the heap.
+   * @param encoder Transformer that encodes an item into bytes.
+   * @param decoder Transformer that decodes an item from its bytes.
+   * @return InfiniteList with the same items.
+   * @throws IllegalArgumentException if budget is not positive.
+   */
+  public InfiniteList<T> spill(int budget, Transformer<? super T, ? extends ByteBuffer> encoder,
+                               Transformer<? super ByteBuffer, ? extends T> decoder) {
+    return this.cache(MemoPolicy.<T>spill(budget, encoder, decoder));
+  }
+
+  /**
+   * Static method that copies a list node by node, with heads and tails
+   * that memoize according to the given policy.
+   *
+   * @param <T> Parameterised type.
+   * @param list The list to copy.
+   * @param memo The memoization policy.
+   * @return InfiniteList of type T.
+   */
+  private static <T> InfiniteList<T> cached(InfiniteList<T> list, MemoPolicy memo) {
+    return list.isSentinel()
+         ? InfiniteList.sentinel()
+         : new InfiniteList<>(memo.lazy(() -> list.headMaybe()),
+                              memo.lazy(() -> InfiniteList.cached(list.tailList(), memo)),
+                              null, list.size);
+  }
+
+  /**
+   * Static nested class for the first node of a list from generate or
+   * iterate, which can build the list again with another memoization policy.
+   */
+  private static final class Source<T> extends InfiniteList<T> {
+    /**
+     * Builds the list with the given policy.
+     */
+    private final Transformer<MemoPolicy, InfiniteList<T>> build;
+
+    /**
+     * Private constructor for the creation of a Source.
+     *
+     * @param first The first node of the list.
+     * @param build Transformer that builds the list with a given policy.
+     */
+    private Source(InfiniteList<T> first, Transformer<MemoPolicy, InfiniteList<T>> build) {
+      super(first.head, first.tail, first.stage, first.size);
+      this.build = build;
+    }
+
+    /**
+     * Static method that builds a list with the given policy.
+     *
+     * @param <T> Parameterised type.
+     * @param build Transformer that builds the list with a given policy.
+     * @param memo The memoization policy.
+     * @return InfiniteList of type T.
+     */
+    private static <T> InfiniteList<T> of(Transformer<MemoPolicy, InfiniteList<T>> build,
+                                          MemoPolicy memo) {
+      return new Source<>(build.transform(memo), build);
+    }
+
+    @Override
+    public InfiniteList<T> cache(MemoPolicy policy) {
+      return this.memo() == policy ? this : Source.of(this.build, policy);
+    }
+  }
+
+  /**
+   * Static nested class used to mark the end of a finite list.
+   */
+  private static final class Sentinel extends InfiniteList<Object> {
+    /**
+     * Private constructor for the creation of a Sentinel.
+     */
+    private Sentinel() {
+      super(0);
+    }
+
+    @Override
+    public Object head() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public InfiniteList<Object> tail() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public <R> InfiniteList<R> map(Transformer<? super Object, ? extends R> mapper) {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public InfiniteList<Object> filter(BooleanCondition<? super Object> predicate) {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public <R> InfiniteList<R> mapParallel(Transformer<? super Object, ? extends R> mapper,
+                                           int parallelism, Executor executor) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+      }
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public IntInfiniteList mapToInt(ToIntTransformer<? super Object> mapper) {
+      return IntInfiniteList.sentinel();
+    }
+
+    @Override
+    public LongInfiniteList mapToLong(ToLongTransformer<? super Object> mapper) {
+      return LongInfiniteList.sentinel();
+    }
+
+    @Override
+    public DoubleInfiniteList mapToDouble(ToDoubleTransformer<? super Object> mapper) {
+      return DoubleInfiniteList.sentinel();
+    }
+
+    @Override
+    public InfiniteList<Object> chunked(int size) {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public boolean isSentinel() {
+      return true;
+    }
+
+    @Override
+    public InfiniteList<Object> limit(long n) {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public List<Object> toList() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public InfiniteList<Object> takeWhile(BooleanCondition<? super Object> predicate) {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public InfiniteList<Object> dropWhile(BooleanCondition<? super Object> predicate) {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public InfiniteList<Object> indexed(int stride) {
+      if (stride <= 0) {
+        throw new IllegalArgumentException("stride must be positive: " + stride);
+      }
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public <U> U reduce(U identity, Combiner<U, ? super Object, U> accumulator) {
+      return identity;
+    }
+
+    @Override
+    public <U> U parallelReduce(U identity, Combiner<U, ? super Object, U> accumulator,
+                                Combiner<U, U, U> combiner) {
+      return identity;
+    }
+
+    @Override
+    public long count() {
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return "-";
+    }
+  }
+
+  /**
+   * Static nested class that holds up to a fixed number of evaluated items,
+   * together with the lazily evaluated chunk that follows it.
+   */
+  private static final class Chunk<T> {
+    /**
+     * The items in this chunk, of which only the first size are used.
+     */
+    private final Object[] items;
+
+    /**
+     * The number of items in this chunk.
+     */
+    private final int size;
+
+    /**
+     * The next chunk, or null if this is the last chunk.
+     */
+    private final Lazy<Chunk<T>> next;
+
+    /**
+     * Private constructor for the creation of a Chunk.
+     *
+     * @param items The items in this chunk.
+     * @param size The number of items in this chunk.
+     * @param next The next chunk, or null if this is the last chunk.
+     */
+    private Chunk(Object[] items, int size, Lazy<Chunk<T>> next) {
+      this.items = items;
+      this.size = size;
+      this.next = next;
+    }
+
+    /**
+     * Method to retrieve an item of this chunk.
+     *
+     * @param k The index of the item.
+     * @return The item.
+     */
+    private T item(int k) {
+      // Every item stored into the array of a Chunk<T> is of type T.
+      @SuppressWarnings("unchecked")
+      T item = (T) this.items[k];
+      return item;
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.toString(Arrays.copyOf(this.items, this.size)) + " "
+          + (this.next == null ? "-" : this.next.toString());
+    }
+  }
+
+  /**
+   * Static nested class for a position within a chain of chunks.  The
+   * operations of InfiniteList are overridden to work on whole chunks.  A
+   * Chunked keeps no head or tail fields, so that a position costs no more
+   * than its chunk and index: a plain node whose tail is a Chunked, as from
+   * skip or dropWhile, is walked through headMaybe and tailList, and Lazy
+   * heads and tails are only made when asked for through headLazy and
+   * tailLazy.
+   */
+  private static final class Chunked<T> extends InfiniteList<T> {
+    /**
+     * The chunk that this position is in.
+     */
+    private final Lazy<Chunk<T>> chunk;
+
+    /**
+     * The index of the head within the chunk.
+     */
+    private final int index;
+
+    /**
+     * Private constructor for the creation of a Chunked.
+     *
+     * @param chunk The chunk that this position is in.
+     * @param index The index of the head within the chunk.
+     */
+    private Chunked(Lazy<Chunk<T>> chunk, int index) {
+      super(UNKNOWN);
+      this.chunk = chunk;
+      this.index = index;
+    }
+
+    /**
+     * Static method that returns the item at the given position.
+     *
+     * @param <T> Parameterised type.
+     * @param lazy The chunk that the given position is in.
+     * @param index The given position.
+     * @return Maybe of the item, or None past the end of the chunk.
+     */
+    private static <T> Maybe<T> item(Lazy<Chunk<T>> lazy, int index) {
+      Chunk<T> chunk = lazy.get();
+      return index < chunk.size ? Maybe.some(chunk.item(index)) : Maybe.none();
+    }
+
+    /**
+     * Static method that returns the position after the given one.
+     *
+     * @param <T> Parameterised type.
+     * @param lazy The chunk that the given position is in.
+     * @param index The given position.
+     * @return The position after, or a Sentinel if there is none.
+     */
+    private static <T> InfiniteList<T> after(Lazy<Chunk<T>> lazy, int index) {
+      Chunk<T> chunk = lazy.get();
+      return index + 1 < chunk.size
+           ? new Chunked<>(lazy, index + 1)
+           : chunk.next == null
+           ? InfiniteList.sentinel()
+           : new Chunked<>(chunk.next, 0);
+    }
+
+    /**
+     * Static method that lazily copies up to size nodes of a list into a chunk.
+     *
+     * @param <T> Parameterised type.
+     * @param list The list to copy.
+     * @param size The number of nodes to copy into each chunk.
+     * @return The lazily evaluated first chunk.
+     */
+    private static <T> Lazy<Chunk<T>> fill(InfiniteList<T> list, int size) {
+      return list.memo().lazy(() -> {
+        Object[] items = new Object[size];
+        int count = 0;
+        InfiniteList<T> curr = list;
+        for (int k = 0; k < size && !curr.isSentinel(); k++) {
+          Maybe<T> head = curr.headMaybe();
+          if (!head.equals(Maybe.none())) {
+            items[count++] = head.get();
+          }
+          curr = curr.tailList();
+        }
+        return new Chunk<>(items, count, curr.isSentinel() ? null : Chunked.fill(curr, size));
+      });
+    }
+
+    /**
+     * Static method that lazily maps a chain of chunks.
+     *
+     * @param <T> Parameterised type.
+     * @param <R> Parameterised type.
+     * @param lazy The first chunk.
+     * @param from The index of the first item to map.
+     * @param mapper Transformer that transforms each item.
+     * @return The lazily evaluated first mapped chunk.
+     */
+    private static <T, R> Lazy<Chunk<R>> map(Lazy<Chunk<T>> lazy, int from,
+                                             Transformer<? super T, ? extends R> mapper) {
+      return MemoPolicy.of(lazy).lazy(() -> {
+        Chunk<T> chunk = lazy.get();
+        Object[] items = new Object[Math.max(chunk.size - from, 0)];
+        for (int k = 0; k < items.length; k++) {
+          items[k] = mapper.transform(chunk.item(from + k));
+        }
+        return new Chunk<>(items, items.length,
+                           chunk.next == null ? null : Chunked.map(chunk.next, 0, mapper));
+      });
+    }
+
+    /**
+     * Static method that lazily filters a chain of chunks.
+     *
+     * @param <T> Parameterised type.
+     * @param lazy The first chunk.
+     * @param from The index of the first item to filter.
+     * @param predicate BooleanCondition that filters each item.
+     * @return The lazily evaluated first filtered chunk.
+     */
+    private static <T> Lazy<Chunk<T>> filter(Lazy<Chunk<T>> lazy, int from,
+                                             BooleanCondition<? super T> predicate) {
+      return MemoPolicy.of(lazy).lazy(() -> {
+        Chunk<T> chunk = lazy.get();
+        Object[] items = new Object[Math.max(chunk.size - from, 0)];
+        int count = 0;
+        for (int k = from; k < chunk.size; k++) {
+          if (predicate.test(chunk.item(k))) {
+            items[count++] = chunk.items[k];
+          }
+        }
+        return new Chunk<>(items, count,
+                           chunk.next == null ? null : Chunked.filter(chunk.next, 0, predicate));
+      });
+    }
+
+    /**
+     * Static method that lazily keeps the first n items of a chain of chunks.
+     *
+     * @param <T> Parameterised type.
+     * @param lazy The first chunk.
+     * @param from The index of the first item to keep.
+     * @param n The number of items to keep, which must be positive.
+     * @return The lazily evaluated first chunk.
+     */
+    private static <T> Lazy<Chunk<T>> limit(Lazy<Chunk<T>> lazy, int from, long n) {
+      return MemoPolicy.of(lazy).lazy(() -> {
+        Chunk<T> chunk = lazy.get();
+        int count = (int) Math.min(Math.max(chunk.size - from, 0), n);
+        Object[] items = Arrays.copyOfRange(chunk.items, from, from + count);
+        return new Chunk<>(items, count, chunk.next == null || count == n
+                                         ? null
+                                         : Chunked.limit(chunk.next, 0, n - count));
+      });
+    }
+
+    /**
+     * Static method that lazily truncates a chain of chunks at the first item
+     * that evaluates the condition to false.
+     *
+     * @param <T> Parameterised type.
+     * @param lazy The first chunk.
+     * @param from The index of the first item to check.
+     * @param predicate BooleanCondition that checks each item.
+     * @return The lazily evaluated first chunk.
+     */
+    private static <T> Lazy<Chunk<T>> takeWhile(Lazy<Chunk<T>> lazy, int from,
+                                                BooleanCondition<? super T> predicate) {
+      return MemoPolicy.of(lazy).lazy(() -> {
+        Chunk<T> chunk = lazy.get();
+        int end = from;
+        while (end < chunk.size && predicate.test(chunk.item(end))) {
+          end++;
+        }
+        Object[] items = Arrays.copyOfRange(chunk.items, from, end);
+        return new Chunk<>(items, items.length, end < chunk.size || chunk.next == null
+                                                ? null
+                                                : Chunked.takeWhile(chunk.next, 0, predicate));
+      });
+    }
+
+    @Override
+    Maybe<T> headMaybe() {
+      return Chunked.item(this.chunk, this.index);
+    }
+
+    @Override
+    InfiniteList<T> tailList() {
+      return Chunked.after(this.chunk, this.index);
+    }
+
+    @Override
+    Lazy<Maybe<T>> headLazy() {
+      return this.memo().lazy(() -> this.headMaybe());
+    }
+
+    @Override
+    Lazy<InfiniteList<T>> tailLazy() {
+      return this.memo().lazy(() -> this.tailList());
+    }
+
+    @Override
+    MemoPolicy memo() {
+      return MemoPolicy.of(this.chunk);
+    }
+
+    @Override
+    public T head() {
+      Chunk<T> chunk = this.chunk.get();
+      int k = this.index;
+      while (k >= chunk.size) {
+        if (chunk.next == null) {
+          throw new NoSuchElementException();
+        }
+        chunk = chunk.next.get();
+        k = 0;
+      }
+      return chunk.item(k);
+    }
+
+    @Override
+    public InfiniteList<T> tail() {
+      Lazy<Chunk<T>> lazy = this.chunk;
+      int k = this.index;
+      while (k >= lazy.get().size) {
+        if (lazy.get().next == null) {
+          throw new NoSuchElementException();
+        }
+        lazy = lazy.get().next;
+        k = 0;
+      }
+      return Chunked.after(lazy, k);
+    }
+
+    @Override
+    public <R> InfiniteList<R> map(Transformer<? super T, ? extends R> mapper) {
+      return new Chunked<>(Chunked.map(this.chunk, this.index, mapper), 0);
+    }
+
+    @Override
+    public InfiniteList<T> filter(BooleanCondition<? super T> predicate) {
+      return new Chunked<>(Chunked.filter(this.chunk, this.index, predicate), 0);
+    }
+
+    @Override
+    public InfiniteList<T> limit(long n) {
+      return n <= 0
+           ? InfiniteList.sentinel()
+           : new Chunked<>(Chunked.limit(this.chunk, this.index, n), 0);
+    }
+
+    @Override
+    public InfiniteList<T> takeWhile(BooleanCondition<? super T> predicate) {
+      return new Chunked<>(Chunked.takeWhile(this.chunk, this.index, predicate), 0);
+    }
+
+    @Override
+    public List<T> toList() {
+      List<T> list = new ArrayList<T>();
+      this.forEachItem(list::add);
+      return list;
+    }
+
+    @Override
+    public <U> U reduce(U identity, Combiner<U, ? super T, U> accumulator) {
+      Chunk<T> chunk = this.chunk.get();
+      int from = this.index;
+      U result = identity;
+      while (true) {
+        for (int k = from; k < chunk.size; k++) {
+          result = accumulator.combine(result, chunk.item(k));
+        }
+        if (chunk.next == null) {
+          return result;
+        }
+        chunk = chunk.next.get();
+        from = 0;
+      }
+    }
+
+    @Override
+    public <U> U parallelReduce(U identity, Combiner<U, ? super T, U> accumulator,
+                                Combiner<U, U, U> combiner) {
+      // Chunks are evaluated one after another, so only the accumulation
+      // itself can run in parallel, over ranges of the chunks as they are.
+      List<Chunk<T>> chunks = new ArrayList<>();
+      Chunk<T> chunk = this.chunk.get();
+      chunks.add(chunk);
+      while (chunk.next != null) {
+        chunk = chunk.next.get();
+        chunks.add(chunk);
+      }
+      int grain = Math.max(1, chunks.size() / (ForkJoinPool.getCommonPoolParallelism() * 8));
+      return ForkJoinPool.commonPool()
+          .invoke(new ChunkReduceTask<>(chunks, this.index, 0, chunks.size(), grain,
+                                        identity, accumulator, combiner));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return new ChunkCursor<>(this.chunk, this.index);
+    }
+
+    @Override
+    public long count() {
+      Chunk<T> chunk = this.chunk.get();
+      long count = Math.max(chunk.size - this.index, 0);
+      while (chunk.next != null) {
+        chunk = chunk.next.get();
+        count += chunk.size;
+      }
+      return count;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> consumer) {
+      this.forEachItem(consumer);
+    }
+
+    /**
+     * Method that passes every item from this position onwards to a consumer.
+     *
+     * @param consumer The consumer to pass each item to.
+     */
+    private void forEachItem(Consumer<? super T> consumer) {
+      Chunk<T> chunk = this.chunk.get();
+      int from = this.index;
+      while (true) {
+        for (int k = from; k < chunk.size; k++) {
+          consumer.consume(chunk.item(k));
+        }
+        if (chunk.next == null) {
+          return;
+        }
+        chunk = chunk.next.get();
+        from = 0;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "[" + this.index + " " + this.chunk + "]";
+    }
+
+    /**
+     * Static nested class for a cursor that walks the items of a chain of
+     * chunks in place.  It keeps only the chunk it is in, and evaluates the
+     * next chunk only when asked for an item after the last of this one.
+     */
+    private static final class ChunkCursor<T> implements Iterator<T> {
+      /**
+       * The chunk to move into, or null if there is none.
+       */
+      private Lazy<Chunk<T>> pending;
+
+      /**
+       * The chunk that the cursor is in, or null until it moves into one.
+       */
+      private Chunk<T> chunk;
+
+      /**
+       * The index of the next item within the chunk.
+       */
+      private int index;
+
+      /**
+       * Private constructor for the creation of a ChunkCursor.
+       *
+       * @param pending The chunk of the first item.
+       * @param index The index of the first item within it.
+       */
+      private ChunkCursor(Lazy<Chunk<T>> pending, int index) {
+        this.pending = pending;
+        this.chunk = null;
+        this.index = index;
+      }
+
+      @Override
+      public boolean hasNext() {
+        while (true) {
+          if (this.chunk == null) {
+            if (this.pending == null) {
+              return false;
+            }
+            this.chunk = this.pending.get();
+            this.pending = null;
+          }
+          if (this.index < this.chunk.size) {
+            return true;
+          }
+          this.pending = this.chunk.next;
+          this.chunk = null;
+          this.index = 0;
+        }
+      }
+
+      @Override
+      public T next() {
+        if (!this.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return this.chunk.item(this.index++);
+      }
+    }
+
+    /**
+     * Static nested class for reducing a range of chunks in parallel, by
+     * splitting the range in halves until it is no larger than the grain.
+     */
+    private static final class ChunkReduceTask<T, U> extends RecursiveTask<U> {
+      private static final long serialVersionUID = 1L;
+
+      private final List<Chunk<T>> chunks;
+      private final int first;
+      private final int from;
+      private final int to;
+      private final int grain;
+      private final U identity;
+      private final Combiner<U, ? super T, U> accumulator;
+      private final Combiner<U, U, U> combiner;
+
+      /**
+       * Private constructor for the creation of a ChunkReduceTask.
+       *
+       * @param chunks The chunks to reduce.
+       * @param first The index of the first item to reduce in the first chunk.
+       * @param from The index of the first chunk in the range.
+       * @param to The index after the last chunk in the range.
+       * @param grain The largest range that is reduced without splitting.
+       * @param identity Given value to start the operation.
+       * @param accumulator Combiner that combines elements.
+       * @param combiner Combiner that combines two partial results.
+       */
+      private ChunkReduceTask(List<Chunk<T>> chunks, int first, int from, int to, int grain,
+                              U identity, Combiner<U, ? super T, U> accumulator,
+                              Combiner<U, U, U> combiner) {
+        this.chunks = chunks;
+        this.first = first;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.identity = identity;
+        this.accumulator = accumulator;
+        this.combiner = combiner;
+      }
+
+      @Override
+      protected U compute() {
+        if (this.to - this.from <= this.grain) {
+          U result = this.identity;
+          for (int c = this.from; c < this.to; c++) {
+            Chunk<T> chunk = this.chunks.get(c);
+            for (int k = c == 0 ? this.first : 0; k < chunk.size; k++) {
+              result = this.accumulator.combine(result, chunk.item(k));
+            }
+          }
+          return result;
+        }
+        int mid = (this.from + this.to) >>> 1;
+        ChunkReduceTask<T, U> left = new ChunkReduceTask<>(this.chunks, this.first, this.from,
+                                                           mid, this.grain, this.identity,
+                                                           this.accumulator, this.combiner);
+        ChunkReduceTask<T, U> right = new ChunkReduceTask<>(this.chunks, this.first, mid,
+                                                            this.to, this.grain, this.identity,
+                                                            this.accumulator, this.combiner);
+        left.fork();
+        U rightResult = right.compute();
+        return this.combiner.combine(left.join(), rightResult);
+      }
+    }
+  }
+
+  /**
+   * Static factory method to create an end-marker for a finite list.
+   *
+   * @param <R> Parameterised type.
+   * @return An instance of Sentinel.
+   */
+  public static <R> InfiniteList<R> sentinel() {
+    // Since class Sentinel is non-generic and does not have a parameterised field,
+    // we can safely cast without worrying about user giving unsupported type.
+    @SuppressWarnings("unchecked")
+    InfiniteList<R> sentinel = (InfiniteList<R>) InfiniteList.SENTINEL;
+    return sentinel;
+  }
+
+  /**
+   * Method to check whether this instance is a Sentinel.
+   *
+   * @return True if this instance is a Sentinel, false otherwise.
+   */
+  public boolean isSentinel() {
+    return false;
+  }
+
+  /**
+   * Method that concatinates an InfiniteList and only takes the first n
+   * items from an InfiniteList.  If every head is known to be present, the
+   * tail is found without evaluating the head.
+   *
+   * @param n Specifies how many items are kept.
+   * @return A finite InfiniteList containing these items.
+   */
+  public InfiniteList<T> limit(long n) {
+    return n <= 0
+         ? InfiniteList.sentinel()
+         : n >= this.bound()
+         ? this
+         : this.isDense()
+         ? new InfiniteList<>(this.head, this.memo().lazy(() -> this.tail.get().limit(n - 1)),
+                              null, n)
+         : new InfiniteList<>(this.head, this.memo().lazy(() -> this.head.get()
+                                          .map(head -> this.tail.get().limit(n - 1))
+                                          .orElseGet(() -> this.tail.get().limit(n))),
+                              null, InfiniteList.atMost(n));
+  }
+
+  /**
+   * Method used to convert a finite InfiniteList into a List of type T.
+   *
+   * @return A List containing the items in a finite InfiniteList.
+   */
+  public List<T> toList() {
+    List<T> list = new ArrayList<T>(this.capacity());
+    InfiniteList<T> curr = this;
+    while (!curr.isSentinel()) {
+      curr.headMaybe().ifPresent(list::add);
+      curr = curr.tailList();
+    }
+    return list;
+  }
+
+  /**
+   * Method used to convert a finite InfiniteList into an array.
+   *
+   * @return An array containing the items in a finite InfiniteList.
+   * @throws OutOfMemoryError if the list has more items than an array can hold.
+   */
+  public Object[] toArray() {
+    if (this.size < 0) {
+      return this.toList().toArray();
+    }
+    if (this.size > Integer.MAX_VALUE - 8) {
+      throw new OutOfMemoryError("Required array length " + this.size + " is too large");
+    }
+    Object[] array = new Object[(int) this.size];
+    InfiniteList<T> curr = this;
+    for (int k = 0; k < array.length; k++) {
+      array[k] = curr.headMaybe().orElse(null);
+      curr = curr.tailList();
+    }
+    return array;
+  }
+
+  /**
+   * Method that returns the capacity to allocate for the items of this
+   * list: its size if known, so that it is allocated once, or else its
+   * upper bound if it has one of at most SMALL_BOUND items, or else the
+   * ArrayList default, so that a short list of unknown size does not
+   * allocate a large array.
+   *
+   * @return The capacity.
+   */
+  private int capacity() {
+    if (this.size >= 0) {
+      return (int) Math.min(this.size, Integer.MAX_VALUE - 8);
+    }
+    if (this.size <= BOUNDED && BOUNDED - this.size <= SMALL_BOUND) {
+      return (int) (BOUNDED - this.size);
+    }
+    return DEFAULT_CAPACITY;
+  }
+
+  /**
+   * Method that truncates the list as soon as it finds an element
+   * that evaluates the condition to false.
+   *
+   * @param predicate BooleanCondition that checks each element.
+   * @return A truncated finite InfiniteList.
+   */
+  public InfiniteList<T> takeWhile(BooleanCondition<? super T> predicate) {
+    MemoPolicy memo = this.memo();
+    Lazy<Maybe<T>> cached = memo.lazy(() -> this.head.get().filter(predicate));
+    return new InfiniteList<>(cached, memo.lazy(() -> this.head.get()
+                                              .map(existsHead -> cached.get()
+                                                   .map(filteredHead ->
+                                                        this.tail.get().takeWhile(predicate))
+                                                   .orElseGet(() -> InfiniteList.sentinel()))
+                                              .orElseGet(() -> this.tail
+                                                         .get().takeWhile(predicate))));
+
+  /*
+   * Iteration 1.
+   *
+   * @issue Calling on [N, 1, 2, 3, ...] would concatinate immediately and return [N, S].
+   */
+//  return new InfiniteList<>(Lazy.of(() -> this.head.get().filter(predicate)),
+//                            Lazy.of(() -> this.head.get().filter(predicate)
+//                                    .map(head -> this.tail.get().takeWhile(predicate))
+//                                    .orElseGet(() -> InfiniteList.sentinel())));
+
+  /*
+   * Iteration 2.
+   *
+   * @issue Calling on [N, S] causes head() being called on Sentinel
+   * and NoSuchElementException thrown.
+   */
+//  return new InfiniteList<>(Lazy.of(() -> Maybe.some(this.head()).filter(predicate)),
+//                            Lazy.of(() -> Maybe.some(this.head()).filter(predicate)
+//                                    .map(head -> this.tail().takeWhile(predicate))
+//                                    .orElseGet(() -> InfiniteList.sentinel())));
+
+  /*
+   * Iteration 3.
+   *
+   * @issue if-else statements discouraged.
+   */
+//  if (this.head.get().equals(Maybe.none())) {
+//    return new InfiniteList<>(Lazy.of(Maybe.none()),
+//                              Lazy.of(() -> this.tail.get().takeWhile(predicate)));
+//  } else if (this.head.get().filter(predicate).equals(Maybe.none())) {
+//    return InfiniteList.sentinel();
+//  } else {
+//    return new InfiniteList<>(this.head, Lazy.of(() -> this.tail.get().takeWhile(predicate)));
+//  }
+
+  /*
+   * Iteration 4.
+   *
+   * @issue Flawless logic, but causes filter(predicate) to be evaluated twice.
+   */
+//  return new InfiniteList<>(Lazy.of(() -> this.head.get().filter(predicate)),
+//                            Lazy.of(() -> this.head.get()
+//                                    .map(existsHead -> this.head.get().filter(predicate)
+//                                         .map(filteredHead -> this.tail.get()
+//                                              .takeWhile(predicate))
+//                                         .orElseGet(() -> InfiniteList.sentinel()))
+//                                    .orElseGet(() -> this.tail.get().takeWhile(predicate))));
+  }
+
+  /**
+   * Method to retrieve the item at index n, where the head is at index 0,
+   * as for n calls of tail() and then head(), but in a loop.
+   *
+   * @param n The index of the item.
+   * @return The item.
+   * @throws IllegalArgumentException if n is negative.
+   * @throws NoSuchElementException if the list has no more than n items.
+   */
+  public T get(long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("index must not be negative: " + n);
+    }
+    InfiniteList<T> node = this.nodeAt(n);
+    if (node.isSentinel()) {
+      throw new NoSuchElementException();
+    }
+    return node.headMaybe().orElse(null);
+  }
+
+  /**
+   * Method that lazily skips the first n items of the InfiniteList.  The
+   * items are skipped in a loop when the result is first evaluated.
+   *
+   * @param n The number of items to skip.
+   * @return InfiniteList without the first n items.
+   * @throws IllegalArgumentException if n is negative.
+   */
+  public InfiniteList<T> skip(long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("count must not be negative: " + n);
+    }
+    if (n == 0) {
+      return this;
+    }
+    if (n >= this.bound()) {
+      return InfiniteList.sentinel();
+    }
+    MemoPolicy memo = this.memo();
+    return InfiniteList.from(memo.lazy(() -> this.nodeAt(n)), memo,
+                             this.size >= 0
+                             ? this.size - n
+                             : this.size <= BOUNDED
+                             ? InfiniteList.atMost(this.bound() - n)
+                             : this.size);
+  }
+
+  /**
+   * Method that lazily drops the leading items of the InfiniteList that
+   * evaluate the condition to true.  The items are dropped in a loop when
+   * the result is first evaluated.
+   *
+   * @param predicate BooleanCondition that checks each element.
+   * @return InfiniteList from the first item that fails the condition.
+   */
+  public InfiniteList<T> dropWhile(BooleanCondition<? super T> predicate) {
+    MemoPolicy memo = this.memo();
+    return InfiniteList.from(memo.lazy(() -> {
+      InfiniteList<T> curr = this;
+      while (!curr.isSentinel()) {
+        Maybe<T> head = curr.headMaybe();
+        if (!head.equals(Maybe.none()) && head.filter(predicate).equals(Maybe.none())) {
+          break;
+        }
+        curr = curr.tailList();
+      }
+      return curr;
+    }), memo, this.size == INFINITE ? INFINITE : InfiniteList.atMost(this.bound()));
+  }
+
+  /**
+   * Static method that creates a node that evaluates to the given node, or
+   * to a node with a None head before the Sentinel.
+   *
+   * @param <T> Parameterised type.
+   * @param rest Lazy of the node.
+   * @param memo The memoization policy.
+   * @param size The number of items, or an upper bound.
+   * @return InfiniteList of type T.
+   */
+  private static <T> InfiniteList<T> from(Lazy<InfiniteList<T>> rest, MemoPolicy memo,
+                                          long size) {
+    return new InfiniteList<>(memo.lazy(() -> rest.get().isSentinel()
+                                              ? Maybe.<T>none()
+                                              : rest.get().headMaybe()),
+                              memo.lazy(() -> rest.get().isSentinel()
+                                              ? InfiniteList.<T>sentinel()
+                                              : rest.get().tailList()),
+                              null, size);
+  }
+
+  /**
+   * Method that finds the node whose head is the item at index n.
+   *
+   * @param n The index of the item, which is not negative.
+   * @return The node, or a Sentinel if the list has no more than n items.
+   */
+  InfiniteList<T> nodeAt(long n) {
+    if (n >= this.bound()) {
+      return InfiniteList.sentinel();
+    }
+    InfiniteList<T> curr = this;
+    long k = n;
+    while (!curr.isSentinel()) {
+      if (!curr.headMaybe().equals(Maybe.none())) {
+        if (k == 0) {
+          return curr;
+        }
+        k--;
+      }
+      curr = curr.tailList();
+    }
+    return curr;
+  }
+
+  /**
+   * Method that adds a skip index to the InfiniteList, as for
+   * indexed(stride) with a stride of 64.
+   *
+   * @return InfiniteList with the same items.
+   */
+  public InfiniteList<T> indexed() {
+    return this.indexed(64);
+  }
+
+  /**
+   * Method that adds a skip index to the InfiniteList, so that get(n) and
+   * skip(n) on the result jump to the node of the nearest index at or
+   * below n that is a multiple of stride, and walk at most stride - 1
+   * items from there, instead of walking from the start.  The index
+   * records the node of every multiple of stride as soon as any read
+   * walks past it, so a read into a prefix that has already been walked
+   * takes O(stride) however far it is, and the index holds one reference
+   * per stride items.  It only saves work if the list memoizes, as with
+   * MemoPolicy.ALL.  Lists built from the result are not indexed.
+   *
+   * @param stride The number of items between nodes of the index.
+   * @return InfiniteList with the same items.
+   * @throws IllegalArgumentException if stride is not positive.
+   */
+  public InfiniteList<T> indexed(int stride) {
+    if (stride <= 0) {
+      throw new IllegalArgumentException("stride must be positive: " + stride);
+    }
+    return new Indexed<>(this, stride);
+  }
+
+  /**
+   * Static nested class for the first node of a list with a skip index.
+   */
+  private static final class Indexed<T> extends InfiniteList<T> {
+    private final int stride;
+
+    /**
+     * The node of each item whose index is a multiple of stride, so far.
+     */
+    private final List<InfiniteList<T>> nodes;
+
+    /**
+     * Private constructor for the creation of an Indexed.
+     *
+     * @param first The first node of the list, which this node copies.
+     * @param stride The number of items between nodes of the index.
+     */
+    private Indexed(InfiniteList<T> first, int stride) {
+      super(first.headLazy(), first.tailLazy(), first.stage, first.size);
+      this.stride = stride;
+      this.nodes = new ArrayList<>();
+    }
+
+    @Override
+    InfiniteList<T> nodeAt(long n) {
+      InfiniteList<T> curr;
+      long position;
+      synchronized (this.nodes) {
+        int known = (int) Math.min(n / this.stride, this.nodes.size() - 1);
+        curr = known < 0 ? this : this.nodes.get(known);
+        position = known < 0 ? 0 : (long) known * this.stride;
+      }
+      while (!curr.isSentinel()) {
+        if (!curr.headMaybe().equals(Maybe.none())) {
+          if (position % this.stride == 0) {
+            this.record(position / this.stride, curr);
+          }
+          if (position == n) {
+            return curr;
+          }
+          position++;
+        }
+        curr = curr.tailList();
+      }
+      return curr;
+    }
+
+    /**
+     * Method that records the k-th node of the index, unless it is known.
+     *
+     * @param k The index of the node in the index.
+     * @param node The node.
+     */
+    private void record(long k, InfiniteList<T> node) {
+      synchronized (this.nodes) {
+        if (k == this.nodes.size()) {
+          this.nodes.add(node);
+        }
+      }
+    }
+  }
+
+  /**
+   * Method that applies a lambda repeatedly on the elements of the
+   * InfiniteList to reduce it into a single value.
+   *
+   * @param <U> Parameterised type.
+   * @param identity Given value to start the operation.
+   * @param accumulator Combiner that combines elements in the InfiniteList.
+   * @return A single value of type U.
+   */
+  public <U> U reduce(U identity, Combiner<U, ? super T, U> accumulator) {
+    U result = identity;
+    InfiniteList<T> curr = this;
+    while (!curr.isSentinel()) {
+      U partial = result;
+      result = curr.headMaybe().<U>map(head -> accumulator.combine(partial, head)).orElse(partial);
+      curr = curr.tailList();
+    }
+    return result;
+  }
+
+  /**
+   * Method that reduces a finite InfiniteList in parallel on the common
+   * ForkJoinPool.  The list is first walked to find its nodes, without
+   * evaluating any head that does not have to be evaluated to find the end,
+   * and the heads are then evaluated and accumulated in parallel.  The
+   * result is the same as reduce(identity, accumulator) provided that
+   * identity is an identity of combiner, and combiner is associative and
+   * compatible with accumulator.
+   *
+   * @param <U> Parameterised type.
+   * @param identity Given value to start the operation.
+   * @param accumulator Combiner that combines elements in the InfiniteList.
+   * @param combiner Combiner that combines two partial results, in order.
+   * @return A single value of type U.
    */
-  private static final InfiniteList<Object> SENTINEL = new Sentinel();
+  public <U> U parallelReduce(U identity, Combiner<U, ? super T, U> accumulator,
+                              Combiner<U, U, U> combiner) {
+    List<Lazy<Maybe<T>>> heads = new ArrayList<>();
+    InfiniteList<T> curr = this;
+    while (!curr.isSentinel()) {
+      heads.add(curr.headLazy());
+      curr = curr.tailList();
+    }
+    int grain = Math.max(1, heads.size() / (ForkJoinPool.getCommonPoolParallelism() * 8));
+    return ForkJoinPool.commonPool()
+        .invoke(new ReduceTask<>(heads, 0, heads.size(), grain, identity, accumulator, combiner));
+  }
 
   /**
-   * Constructor for Sentinel.
+   * Static nested class for reducing a range of heads in parallel, by
+   * splitting the range in halves until it is no larger than the grain.
    */
-  private InfiniteList() { 
-    this.head = null; 
-    this.tail = null;
+  private static final class ReduceTask<T, U> extends RecursiveTask<U> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Lazy<Maybe<T>>> heads;
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final U identity;
+    private final Combiner<U, ? super T, U> accumulator;
+    private final Combiner<U, U, U> combiner;
+
+    /**
+     * Private constructor for the creation of a ReduceTask.
+     *
+     * @param heads The heads to reduce.
+     * @param from The index of the first head in the range.
+     * @param to The index after the last head in the range.
+     * @param grain The largest range that is reduced without splitting.
+     * @param identity Given value to start the operation.
+     * @param accumulator Combiner that combines elements.
+     * @param combiner Combiner that combines two partial results.
+     */
+    private ReduceTask(List<Lazy<Maybe<T>>> heads, int from, int to, int grain, U identity,
+                       Combiner<U, ? super T, U> accumulator, Combiner<U, U, U> combiner) {
+      this.heads = heads;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+      this.identity = identity;
+      this.accumulator = accumulator;
+      this.combiner = combiner;
+    }
+
+    @Override
+    protected U compute() {
+      if (this.to - this.from <= this.grain) {
+        U result = this.identity;
+        for (int k = this.from; k < this.to; k++) {
+          U partial = result;
+          result = this.heads.get(k).get().<U>map(head -> this.accumulator.combine(partial, head))
+                                          .orElse(partial);
+        }
+        return result;
+      }
+      int mid = (this.from + this.to) >>> 1;
+      ReduceTask<T, U> left = new ReduceTask<>(this.heads, this.from, mid, this.grain,
+                                               this.identity, this.accumulator, this.combiner);
+      ReduceTask<T, U> right = new ReduceTask<>(this.heads, mid, this.to, this.grain,
+                                                this.identity, this.accumulator, this.combiner);
+      left.fork();
+      U rightResult = right.compute();
+      return this.combiner.combine(left.join(), rightResult);
+    }
   }
 
   /**
-   * Static method that creates an InfiniteList from the producer.
+   * Static method that creates an InfiniteList from a stream.  Items are
+   * pulled from the stream one at a time, only when the list is evaluated
+   * that far, and each item is pulled exactly once.
    *
    * @param <T> Parameterised type.
-   * @param producer Producer that produces every item in the list.
-   * @return InfiniteList.
+   * @param stream The stream to take items from.
+   * @return InfiniteList of type T.
    */
-  public static <T> InfiniteList<T> generate(Producer<T> producer) {
-    return new InfiniteList<>(Lazy.of(() -> Maybe.some(producer.produce())),
-                              Lazy.of(() -> InfiniteList.generate(producer)));
+  public static <T> InfiniteList<T> fromStream(Stream<? extends T> stream) {
+    return InfiniteList.pull(stream.iterator());
   }
 
   /**
-   * Static method that creates an InfiniteList from an initial seed and a transformer.
+   * Static method that creates a node whose head is the next item of the
+   * iterator, or None once it is used up.  The tail evaluates the head
+   * first, so that items are pulled in order.
    *
    * @param <T> Parameterised type.
-   * @param seed Initial item.
-   * @param next Transformer that produces subsequent items.
-   * @return InfiniteList.
+   * @param iterator The iterator to take items from.
+   * @return InfiniteList of type T.
    */
-  public static <T> InfiniteList<T> iterate(T seed, Transformer<T, T> next) {
-    return new InfiniteList<>(seed, () -> InfiniteList.iterate(next.transform(seed), next));
+  private static <T> InfiniteList<T> pull(Iterator<? extends T> iterator) {
+    Lazy<Maybe<T>> head = Lazy.of(() -> iterator.hasNext()
+                                        ? Maybe.<T>some(iterator.next())
+                                        : Maybe.<T>none());
+    return new InfiniteList<>(head, Lazy.of(() -> {
+      head.get();
+      return iterator.hasNext() ? InfiniteList.pull(iterator) : InfiniteList.sentinel();
+    }));
   }
 
   /**
-   * Constructor for iterate.
+   * Static method that creates an InfiniteList of the lines of a file,
+   * decoded from their bytes, as for fromFile(path, decoder, window) with
+   * windows of 1 GiB.
    *
-   * @param head First element in the list.
-   * @param tail Producer that produces the tail.
+   * @param <T> Parameterised type.
+   * @param path The file to read.
+   * @param decoder Transformer that decodes the bytes of each line.
+   * @return InfiniteList of type T.
+   * @throws UncheckedIOException if the file cannot be opened.
    */
-  private InfiniteList(T head, Producer<InfiniteList<T>> tail) {
-    this.head = Lazy.of(Maybe.some(head));
-    this.tail = Lazy.of(tail);
+  public static <T> InfiniteList<T> fromFile(Path path,
+                                             Transformer<? super ByteBuffer, ? extends T> decoder) {
+    return InfiniteList.fromFile(path, decoder, 1 << 30);
   }
 
   /**
-   * Constructor for generate.
+   * Static method that creates an InfiniteList of the lines of a file,
+   * decoded from their bytes.  The file is memory-mapped a window at a
+   * time, as the list reaches it, so nothing is read when the list is
+   * created and files larger than 2 GiB are read through several windows.
+   * Lines end at '\n' or "\r\n", which are left out, and the list ends with
+   * the Sentinel at the end of the file as it was when opened.  The decoder
+   * gets a read-only view of the line in the mapped file, not a copy, and
+   * should copy out whatever it keeps.  I/O errors are thrown as
+   * UncheckedIOException, like any other failure of a lazy evaluation.
    *
-   * @param head Lazy of a Maybe of an item.
-   * @param tail Lazy of an InfiniteList.
+   * @param <T> Parameterised type.
+   * @param path The file to read.
+   * @param decoder Transformer that decodes the bytes of each line.
+   * @param window The number of bytes to map at a time, which grows for
+   *     any line longer than that.
+   * @return InfiniteList of type T.
+   * @throws UncheckedIOException if the file cannot be opened.
+   * @throws IllegalArgumentException if window is not positive.
    */
-  private InfiniteList(Lazy<Maybe<T>> head, Lazy<InfiniteList<T>> tail) {
-    this.head = head;
-    this.tail = tail;
+  public static <T> InfiniteList<T> fromFile(Path path,
+                                             Transformer<? super ByteBuffer, ? extends T> decoder,
+                                             int window) {
+    if (window <= 0) {
+      throw new IllegalArgumentException("window must be positive: " + window);
+    }
+    MappedFile file = new MappedFile(path, Math.min(window, MappedFile.MAX_WINDOW));
+    return InfiniteList.lines(file, null, 0, decoder);
   }
 
   /**
-   * Method to retrieve the non-None head item.
+   * Static method that creates an InfiniteList of the fixed-width records
+   * of a buffer, from its position to its limit, as flyweight views.  Each
+   * record is a read-only slice of the buffer with the byte order of the
+   * buffer, whose fields can be read in place with absolute gets, such as
+   * getInt(4).  No bytes are copied, so filter and map can test and read
+   * the fields of each record, and only what survives needs to be copied.
    *
-   * @return Item of parameterised type.
+   * <p>A slice is a view, not a copy: it sees later changes to the buffer,
+   * and it keeps the whole buffer reachable, or mapped for a mapped buffer,
+   * for as long as it is kept.  A record to be kept after the buffer is
+   * reused, or without the buffer, should be copied out of it.  Each record
+   * gets its own slice, which is never reused, as the list memoizes its
+   * heads.  A partial record at the end of the buffer is left out.
+   *
+   * @param buffer The buffer to read.
+   * @param width The width of each record in bytes.
+   * @return InfiniteList of ByteBuffer.
+   * @throws IllegalArgumentException if width is not positive.
    */
-  public T head() {
-    return this.head.get().orElseGet(() -> this.tail.get().head());
+  public static InfiniteList<ByteBuffer> records(ByteBuffer buffer, int width) {
+    if (width <= 0) {
+      throw new IllegalArgumentException("width must be positive: " + width);
+    }
+    ByteBuffer view = buffer.asReadOnlyBuffer().slice();
+    ByteOrder order = buffer.order();
+    return InfiniteList.records(k -> view.slice((int) k * width, width).order(order),
+                                0, view.remaining() / width);
   }
 
   /**
-   * Method to retrieve the tail after the first none-None item.
+   * Static method that creates an InfiniteList of the fixed-width records
+   * of a file, as for records(path, width, window) with windows of 1 GiB.
    *
-   * @return InfiniteList of parameterised type.
+   * @param path The file to read.
+   * @param width The width of each record in bytes.
+   * @return InfiniteList of ByteBuffer.
+   * @throws UncheckedIOException if the file cannot be opened.
    */
-  public InfiniteList<T> tail() {
-    return this.head.get().map(head -> this.tail.get()).orElseGet(() -> this.tail.get().tail());
+  public static InfiniteList<ByteBuffer> records(Path path, int width) {
+    return InfiniteList.records(path, width, 1 << 30);
   }
 
   /**
-   * Maps the InfiniteList.
+   * Static method that creates an InfiniteList of the fixed-width records
+   * of a file, as flyweight views into it as for records(buffer, width), in
+   * big-endian order.  The file is memory-mapped a window at a time, as the
+   * list reaches it, and each window holds a whole number of records.
    *
-   * @param <R> parameterised type.
-   * @param mapper Transformer that transforms each item in the list.
-   * @return InfiniteList of type R.
+   * @param path The file to read.
+   * @param width The width of each record in bytes.
+   * @param window The number of bytes to map at a time, rounded down to a
+   *     whole number of records, and at least one record.
+   * @return InfiniteList of ByteBuffer.
+   * @throws UncheckedIOException if the file cannot be opened.
+   * @throws IllegalArgumentException if width or window is not positive.
    */
-  public <R> InfiniteList<R> map(Transformer<? super T, ? extends R> mapper) {
-    return new InfiniteList<>(Lazy.of(() -> this.head.get().map(mapper)),
-                              Lazy.of(() -> this.tail.get().map(mapper)));
+  public static InfiniteList<ByteBuffer> records(Path path, int width, int window) {
+    if (width <= 0 || window <= 0) {
+      throw new IllegalArgumentException("width and window must be positive: "
+                                         + width + ", " + window);
+    }
+    MappedFile file = new MappedFile(path, Math.min(window, MappedFile.MAX_WINDOW));
+    return InfiniteList.records(k -> file.record(k, width), 0, file.size() / width);
   }
 
   /**
-   * Filters the InfiniteList.
+   * Static method that creates a node for the k-th of a number of records.
    *
-   * @param predicate BooleanCondition that filters each item in the list.
-   * @return InfiniteList.
+   * @param source Returns the view of the k-th record.
+   * @param k The index of the record.
+   * @param count The number of records.
+   * @return InfiniteList of ByteBuffer.
    */
-  public InfiniteList<T> filter(BooleanCondition<? super T> predicate) {
-    return new InfiniteList<>(Lazy.of(() -> this.head.get().filter(predicate)),
-                              Lazy.of(() -> this.tail.get().filter(predicate)));
+  private static InfiniteList<ByteBuffer> records(Records source, long k, long count) {
+    return k >= count
+         ? InfiniteList.sentinel()
+         : new InfiniteList<>(Lazy.of(() -> Maybe.some(source.record(k))),
+                              Lazy.of(() -> InfiniteList.records(source, k + 1, count)),
+                              null, count - k);
   }
 
   /**
-   * Static nested class used to mark the end of a finite list.
+   * Represent a source of fixed-width records by index.
    */
-  private static final class Sentinel extends InfiniteList<Object> {
+  @FunctionalInterface
+  private interface Records {
     /**
-     * Private constructor for the creation of a Sentinel.
+     * Return the view of the k-th record.
+     *
+     * @param k The index of the record.
+     * @return The bytes of the record.
      */
-    private Sentinel() {
-      super();
-    }
+    ByteBuffer record(long k);
+  }
 
-    @Override
-    public Object head() {
-      throw new NoSuchElementException();
+  /**
+   * Static method that creates a node for the line that starts at the
+   * given offset, or a Sentinel at the end of the file.
+   *
+   * @param <T> Parameterised type.
+   * @param file The mapped file.
+   * @param window The window of the previous line, or null.
+   * @param start The offset of the line in the file.
+   * @param decoder Transformer that decodes the bytes of each line.
+   * @return InfiniteList of type T.
+   */
+  private static <T> InfiniteList<T> lines(MappedFile file, MappedFile.Window window, long start,
+                                           Transformer<? super ByteBuffer, ? extends T> decoder) {
+    if (start >= file.size()) {
+      return InfiniteList.sentinel();
     }
+    Lazy<MappedFile.Line> line = Lazy.of(() -> file.line(window, start));
+    return new InfiniteList<>(Lazy.of(() -> Maybe.some(decoder.transform(line.get().bytes()))),
+                              Lazy.of(() -> InfiniteList.lines(file, line.get().window(),
+                                                               line.get().next(), decoder)));
+  }
 
-    @Override
-    public InfiniteList<Object> tail() {
-      throw new NoSuchElementException();
+  /**
+   * Method that returns a Spliterator over the items of the InfiniteList.
+   * It is ORDERED and IMMUTABLE, and also SIZED after limit if every head
+   * is known to be present.  Items are evaluated through the memoized heads,
+   * so they are never evaluated twice, and when split the heads of the
+   * prefix are evaluated by whichever thread takes it.
+   *
+   * @return Spliterator of type T.
+   */
+  public Spliterator<T> spliterator() {
+    return new NodeSpliterator<>(this, this.size);
+  }
+
+  /**
+   * Method that returns a sequential stream of the items of the InfiniteList.
+   *
+   * @return Stream of type T.
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(this.spliterator(), false);
+  }
+
+  /**
+   * Method that returns a parallel stream of the items of the InfiniteList.
+   *
+   * @return Stream of type T.
+   */
+  public Stream<T> parallelStream() {
+    return StreamSupport.stream(this.spliterator(), true);
+  }
+
+  /**
+   * Static nested class for a Spliterator that walks the nodes of a list.
+   * It only keeps the current node, so the items it has passed can be
+   * collected.
+   */
+  private static final class NodeSpliterator<T> implements Spliterator<T> {
+    /**
+     * The largest number of nodes split off at once from a list of unknown
+     * or infinite size.
+     */
+    private static final int MAX_BATCH = 1 << 25;
+
+    /**
+     * The number of nodes split off at a time from a list of unknown or
+     * infinite size, which grows with each split.
+     */
+    private static final int BATCH_STEP = 1 << 10;
+
+    private InfiniteList<T> curr;
+    private long size;
+    private int batch;
+
+    /**
+     * Private constructor for the creation of a NodeSpliterator.
+     *
+     * @param curr The first node.
+     * @param size The number of items left, INFINITE or UNKNOWN.
+     */
+    private NodeSpliterator(InfiniteList<T> curr, long size) {
+      this.curr = curr;
+      this.size = size;
+      this.batch = 0;
     }
 
     @Override
-    public <R> InfiniteList<R> map(Transformer<? super Object, ? extends R> mapper) {
-      return InfiniteList.sentinel();
+    public boolean tryAdvance(java.util.function.Consumer<? super T> action) {
+      while (!this.curr.isSentinel()) {
+        Maybe<T> head = this.curr.headMaybe();
+        this.curr = this.curr.tailList();
+        if (!head.equals(Maybe.none())) {
+          if (this.size > 0) {
+            this.size--;
+          }
+          action.accept(head.orElse(null));
+          return true;
+        }
+      }
+      this.size = 0;
+      return false;
     }
 
     @Override
-    public InfiniteList<Object> filter(BooleanCondition<? super Object> predicate) {
-      return InfiniteList.sentinel();
+    public Spliterator<T> trySplit() {
+      long n = this.size >= 0
+             ? this.size / 2
+             : Math.min(this.batch + BATCH_STEP, MAX_BATCH);
+      if (n == 0 || this.curr.isSentinel()) {
+        return null;
+      }
+      Object[] heads = new Object[(int) n];
+      int k = 0;
+      while (k < n && !this.curr.isSentinel()) {
+        heads[k++] = this.curr.headLazy();
+        this.curr = this.curr.tailList();
+      }
+      if (this.size >= 0) {
+        this.size -= k;
+      } else {
+        this.batch = k;
+      }
+      return new HeadSpliterator<>(heads, 0, k, this.size >= 0 || this.size == INFINITE);
     }
 
     @Override
-    public boolean isSentinel() {
-      return true;
+    public long estimateSize() {
+      return this.size >= 0 ? this.size : Long.MAX_VALUE;
     }
 
     @Override
-    public InfiniteList<Object> limit(long n) {
-      return InfiniteList.sentinel();
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.IMMUTABLE
+          | (this.size >= 0 ? Spliterator.SIZED | Spliterator.SUBSIZED : 0);
     }
+  }
 
-    @Override
-    public List<Object> toList() {
-      return new ArrayList<>();
+  /**
+   * Static nested class for a Spliterator over a range of memoized heads
+   * split off from a list, which it halves when split again.
+   */
+  private static final class HeadSpliterator<T> implements Spliterator<T> {
+    private final Object[] heads;
+    private int from;
+    private final int to;
+    private final boolean dense;
+
+    /**
+     * Private constructor for the creation of a HeadSpliterator.
+     *
+     * @param heads The Lazy heads of the nodes.
+     * @param from The index of the first head in the range.
+     * @param to The index after the last head in the range.
+     * @param dense Whether every head is known to be present.
+     */
+    private HeadSpliterator(Object[] heads, int from, int to, boolean dense) {
+      this.heads = heads;
+      this.from = from;
+      this.to = to;
+      this.dense = dense;
     }
 
     @Override
-    public InfiniteList<Object> takeWhile(BooleanCondition<? super Object> predicate) {
-      return InfiniteList.sentinel();
+    public boolean tryAdvance(java.util.function.Consumer<? super T> action) {
+      while (this.from < this.to) {
+        @SuppressWarnings("unchecked")
+        Lazy<Maybe<T>> lazy = (Lazy<Maybe<T>>) this.heads[this.from];
+        this.heads[this.from++] = null;
+        Maybe<T> head = lazy.get();
+        if (!head.equals(Maybe.none())) {
+          action.accept(head.orElse(null));
+          return true;
+        }
+      }
+      return false;
     }
 
     @Override
-    public <U> U reduce(U identity, Combiner<U, ? super Object, U> accumulator) {
-      return identity;
+    public Spliterator<T> trySplit() {
+      int mid = (this.from + this.to) >>> 1;
+      if (mid <= this.from) {
+        return null;
+      }
+      Spliterator<T> prefix = new HeadSpliterator<>(this.heads, this.from, mid, this.dense);
+      this.from = mid;
+      return prefix;
     }
 
     @Override
-    public long count() {
-      return 0;
+    public long estimateSize() {
+      return this.to - this.from;
     }
 
     @Override
-    public String toString() {
-      return "-";
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.IMMUTABLE
+          | (this.dense ? Spliterator.SIZED | Spliterator.SUBSIZED : 0);
     }
   }
 
   /**
-   * Static factory method to create an end-marker for a finite list.
+   * Method that returns a cursor over the items of the InfiniteList.  The
+   * cursor keeps only the node it is on, so once the caller lets go of the
+   * list, the nodes it has moved past can be collected and the list can be
+   * walked in constant memory.  None heads left by filter are skipped, and
+   * the cursor ends at the Sentinel.
    *
-   * @param <R> Parameterised type.
-   * @return An instance of Sentinel.
+   * @return Iterator of type T.
    */
-  public static <R> InfiniteList<R> sentinel() {
-    // Since class Sentinel is non-generic and does not have a parameterised field,
-    // we can safely cast without worrying about user giving unsupported type.
-    @SuppressWarnings("unchecked")
-    InfiniteList<R> sentinel = (InfiniteList<R>) InfiniteList.SENTINEL;
-    return sentinel;
+  public Iterator<T> iterator() {
+    return new Cursor<>(this);
   }
 
   /**
-   * Method to check whether this instance is a Sentinel.
+   * Static method that returns an Iterable whose cursors each walk a new
+   * list from the producer.  The Iterable does not keep any list, so a
+   * for-each loop over it runs in constant memory however long the list is.
    *
-   * @return True if this instance is a Sentinel, false otherwise.
+   * @param <T> Parameterised type.
+   * @param producer Producer of the list to walk.
+   * @return Iterable of type T.
    */
-  public boolean isSentinel() {
-    return false;
+  public static <T> Iterable<T> iterable(Producer<? extends InfiniteList<T>> producer) {
+    return () -> producer.produce().iterator();
   }
 
   /**
-   * Method that concatinates an InfiniteList and only takes the first n
-   * items from an InfiniteList.
+   * Static nested class for a cursor that walks the nodes of a list.  It
+   * moves past a node only when asked for the next item after it, so the
+   * tail of the last item returned is not evaluated early.
+   */
+  private static final class Cursor<T> implements Iterator<T> {
+    private InfiniteList<T> curr;
+    private boolean consumed;
+
+    /**
+     * The head of the current node once evaluated, or null, so that a list
+     * that does not memoize is not evaluated twice per item.
+     */
+    private Maybe<T> found;
+
+    /**
+     * Private constructor for the creation of a Cursor.
+     *
+     * @param curr The first node.
+     */
+    private Cursor(InfiniteList<T> curr) {
+      this.curr = curr;
+      this.consumed = false;
+      this.found = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (this.consumed) {
+        this.curr = this.curr.tailList();
+        this.consumed = false;
+        this.found = null;
+      }
+      while (this.found == null && !this.curr.isSentinel()) {
+        Maybe<T> head = this.curr.headMaybe();
+        if (head.equals(Maybe.none())) {
+          this.curr = this.curr.tailList();
+        } else {
+          this.found = head;
+        }
+      }
+      return this.found != null;
+    }
+
+    @Override
+    public T next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      this.consumed = true;
+      return this.found.orElse(null);
+    }
+  }
+
+  /**
+   * Method that writes a finite InfiniteList to a channel, as the bytes of
+   * each item from the encoder, in order.  Items are encoded and written as
+   * the list is walked, so that nothing is collected first: the bytes of
+   * heap buffers are copied into a reusable direct buffer of 64 KiB, direct
+   * buffers such as records() views are written without a copy, and the
+   * pending buffers are written together with gathering writes.  The writer
+   * itself keeps a constant amount of memory however long the list is, and
+   * so does the whole walk if the list does not memoize what it has passed,
+   * as after cache(MemoPolicy.NONE).  The buffers from the encoder are
+   * written from their position to their limit, and are not changed.  A
+   * heap buffer is copied at once, so the encoder may reuse one for every
+   * item, but a direct buffer is written later with its batch, so it must
+   * not be changed until write returns.  The channel is not closed.
    *
-   * @param n Specifies how many items are kept.
-   * @return A finite InfiniteList containing these items.
+   * @param channel The blocking channel to write to.
+   * @param encoder Transformer that encodes each item into bytes.
+   * @return The number of bytes written.
+   * @throws UncheckedIOException if the channel fails.
    */
-  public InfiniteList<T> limit(long n) {
-    return n <= 0
-         ? InfiniteList.sentinel()
-         : new InfiniteList<>(this.head, Lazy.of(() -> this.head.get()
-                                          .map(head -> this.tail.get().limit(n - 1))
-                                          .orElseGet(() -> this.tail.get().limit(n))));
+  public long write(WritableByteChannel channel,
+                    Transformer<? super T, ? extends ByteBuffer> encoder) {
+    ChannelSink sink = new ChannelSink(channel);
+    Iterator<T> items = this.iterator();
+    while (items.hasNext()) {
+      sink.add(encoder.transform(items.next()));
+    }
+    return sink.finish();
   }
 
   /**
-   * Method used to convert a finite InfiniteList into a List of type T.
+   * Method that calculates the length of the InfiniteList.  The length of
+   * a list whose size is known, such as a limit of iterate or generate and
+   * any map of it, is returned at once, without evaluating any item.
    *
-   * @return A List containing the items in a finite InfiniteList.
+   * @return The length of the InfiniteList.
    */
-  public List<T> toList() {
-    List<T> list = new ArrayList<T>();
-    return this.head.get().map(existsHead -> {
-      list.add(existsHead);
-      list.addAll(this.tail.get().toList());
-      return list;
-    }).orElseGet(() -> this.tail.get().toList()); 
-  
-    /*
-     * Valid alternative solution that uses loops and ifPresent/consumeWith.
-     */
-//    List<T> list = new ArrayList<T>();
-//    InfiniteList<T> curr = this;
-//    while (!curr.isSentinel()) {
-//      curr.head.get().ifPresent(list::add);
-//      curr = curr.tail.get();
-//    }
-//    return list;
+  public long count() {
+    if (this.size >= 0) {
+      return this.size;
+    }
+    long count = 0;
+    InfiniteList<T> curr = this;
+    while (!curr.isSentinel()) {
+      count += curr.headMaybe().map(head -> 1).orElse(0);
+      curr = curr.tailList();
+    }
+    return count;
   }
 
   /**
-   * Method that truncates the list as soon as it finds an element
-   * that evaluates the condition to false.
+   * Method that passes every item of a finite InfiniteList to a consumer,
+   * in order, as the list is walked.
+   *
+   * @param consumer The consumer to pass each item to.
+   */
+  public void forEach(Consumer<? super T> consumer) {
+    Iterator<T> items = this.iterator();
+    while (items.hasNext()) {
+      consumer.consume(items.next());
+    }
+  }
+
+  /**
+   * Method that finds the first item that evaluates the condition to true.
+   * It stops at that item, without evaluating the tail after it, so it also
+   * works on an infinite list that has such an item.
    *
    * @param predicate BooleanCondition that checks each element.
-   * @return A truncated finite InfiniteList.
+   * @return Maybe of the first such item, or None if there is none.
    */
-  public InfiniteList<T> takeWhile(BooleanCondition<? super T> predicate) {
-    Lazy<Maybe<T>> cached = Lazy.of(() -> this.head.get().filter(predicate));
-    return new InfiniteList<>(cached, Lazy.of(() -> this.head.get()
-                                              .map(existsHead -> cached.get()
-                                                   .map(filteredHead ->
-                                                        this.tail.get().takeWhile(predicate))
-                                                   .orElseGet(() -> InfiniteList.sentinel()))
-                                              .orElseGet(() -> this.tail
-                                                         .get().takeWhile(predicate))));
+  public Maybe<T> findFirst(BooleanCondition<? super T> predicate) {
+    Iterator<T> items = this.iterator();
+    while (items.hasNext()) {
+      T item = items.next();
+      if (predicate.test(item)) {
+        return Maybe.some(item);
+      }
+    }
+    return Maybe.none();
+  }
 
-  /*
-   * Iteration 1.
+  /**
+   * Method that checks whether any item evaluates the condition to true,
+   * stopping at the first one that does.
    *
-   * @issue Calling on [N, 1, 2, 3, ...] would concatinate immediately and return [N, S].
+   * @param predicate BooleanCondition that checks each element.
+   * @return True if some item evaluates the condition to true.
    */
-//  return new InfiniteList<>(Lazy.of(() -> this.head.get().filter(predicate)),
-//                            Lazy.of(() -> this.head.get().filter(predicate)
-//                                    .map(head -> this.tail.get().takeWhile(predicate))
-//                                    .orElseGet(() -> InfiniteList.sentinel())));
+  public boolean anyMatch(BooleanCondition<? super T> predicate) {
+    return !this.findFirst(predicate).equals(Maybe.none());
+  }
 
-  /*
-   * Iteration 2.
+  /**
+   * Method that checks whether every item evaluates the condition to true,
+   * stopping at the first one that does not.
    *
-   * @issue Calling on [N, S] causes head() being called on Sentinel
-   * and NoSuchElementException thrown.
+   * @param predicate BooleanCondition that checks each element.
+   * @return True if no item evaluates the condition to false.
    */
-//  return new InfiniteList<>(Lazy.of(() -> Maybe.some(this.head()).filter(predicate)),
-//                            Lazy.of(() -> Maybe.some(this.head()).filter(predicate)
-//                                    .map(head -> this.tail().takeWhile(predicate))
-//                                    .orElseGet(() -> InfiniteList.sentinel())));
+  public boolean allMatch(BooleanCondition<? super T> predicate) {
+    return !this.anyMatch(item -> !predicate.test(item));
+  }
 
-  /*
-   * Iteration 3.
+  /**
+   * Method that checks whether no item evaluates the condition to true,
+   * stopping at the first one that does.
    *
-   * @issue if-else statements discouraged.
+   * @param predicate BooleanCondition that checks each element.
+   * @return True if no item evaluates the condition to true.
    */
-//  if (this.head.get().equals(Maybe.none())) {
-//    return new InfiniteList<>(Lazy.of(Maybe.none()),
-//                              Lazy.of(() -> this.tail.get().takeWhile(predicate)));
-//  } else if (this.head.get().filter(predicate).equals(Maybe.none())) {
-//    return InfiniteList.sentinel();
-//  } else {
-//    return new InfiniteList<>(this.head, Lazy.of(() -> this.tail.get().takeWhile(predicate)));
-//  }
+  public boolean noneMatch(BooleanCondition<? super T> predicate) {
+    return !this.anyMatch(predicate);
+  }
 
-  /*
-   * Iteration 4.
+  /**
+   * Method that finds the largest item of a finite InfiniteList.  Of equal
+   * items, the first is returned.
    *
-   * @issue Flawless logic, but causes filter(predicate) to be evaluated twice.
+   * @param comparator Comparator that orders the items.
+   * @return Maybe of the largest item, or None if the list has no items.
    */
-//  return new InfiniteList<>(Lazy.of(() -> this.head.get().filter(predicate)),
-//                            Lazy.of(() -> this.head.get()
-//                                    .map(existsHead -> this.head.get().filter(predicate)
-//                                         .map(filteredHead -> this.tail.get()
-//                                              .takeWhile(predicate))
-//                                         .orElseGet(() -> InfiniteList.sentinel()))
-//                                    .orElseGet(() -> this.tail.get().takeWhile(predicate))));
+  public Maybe<T> max(Comparator<? super T> comparator) {
+    return this.best(comparator, 1);
   }
 
   /**
-   * Method that applies a lambda repeatedly on the elements of the
-   * InfiniteList to reduce it into a single value.
+   * Method that finds the smallest item of a finite InfiniteList.  Of equal
+   * items, the first is returned.
    *
-   * @param <U> Parameterised type.
-   * @param identity Given value to start the operation.
-   * @param accumulator Combiner that combines elements in the InfiniteList.
-   * @return A single value of type U.
+   * @param comparator Comparator that orders the items.
+   * @return Maybe of the smallest item, or None if the list has no items.
    */
-  public <U> U reduce(U identity, Combiner<U, ? super T, U> accumulator) {
-    return this.head.get().map(existsHead -> this.tail.get()
-                               .reduce(accumulator.combine(identity, existsHead), accumulator))
-                               .orElse(this.tail.get().reduce(identity, accumulator));
+  public Maybe<T> min(Comparator<? super T> comparator) {
+    return this.best(comparator, -1);
   }
 
   /**
-   * Method that calculates the length of the InfiniteList.
+   * Method that finds the first item that no later item beats.
    *
-   * @return The length of the InfiniteList.
+   * @param comparator Comparator that orders the items.
+   * @param sign 1 if larger items win, or -1 if smaller items win.
+   * @return Maybe of the item, or None if the list has no items.
    */
-  public long count() {
-    return this.head.get().map(head -> 1 + this.tail.get().count()).orElse(this.tail.get().count());
+  private Maybe<T> best(Comparator<? super T> comparator, int sign) {
+    Iterator<T> items = this.iterator();
+    if (!items.hasNext()) {
+      return Maybe.none();
+    }
+    T best = items.next();
+    while (items.hasNext()) {
+      T item = items.next();
+      if (sign * Integer.signum(comparator.compare(item, best)) > 0) {
+        best = item;
+      }
+    }
+    return Maybe.some(best);
   }
 
   @Override
@@ -0,0 +1,18 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that combines two int values into one.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface IntBinaryCombiner {
+  /**
+   * The function method to combines two values into one.
+   *
+   * @param x The first input value
+   * @param y The second input value
+   * @return The value after combining x and y.
+   */
+  int combine(int x, int y);
+}
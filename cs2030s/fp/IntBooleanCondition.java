@@ -0,0 +1,17 @@
+package cs2030s.fp;
+
+/**
+ * Represent a conditional statement on an int value that returns either true of false.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface IntBooleanCondition {
+  /**
+   * The functional method to test if the condition is true/false on the given value x.
+   *
+   * @param x The variable to test
+   * @return The return value of the test.
+   */
+  boolean test(int x);
+}
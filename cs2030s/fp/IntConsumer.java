@@ -0,0 +1,16 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that consumes an int value.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface IntConsumer {
+  /**
+   * The functional method to consume a value.
+   *
+   * @param x the value to consume
+   */
+  void consume(int x);
+}
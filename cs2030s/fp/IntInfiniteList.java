@@ -0,0 +1,821 @@
+// Generated from gen/PrimitiveInfiniteList.java.template by gen/Generate.java.
+// Edit the template and regenerate rather than editing this file.
+package cs2030s.fp;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class encapsulates a lazy infinite list of int values.  It has the
+ * same lazy semantics as InfiniteList, but each node keeps its head as
+ * an int and evaluates its head and tail in place, instead of boxing the
+ * head into an Integer inside a Maybe inside a Lazy.  Each operation is a
+ * subclass whose nodes keep the state of the operation in fields, so that a
+ * node is the only object allocated per item.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public abstract class IntInfiniteList {
+  /**
+   * Bit of the state that is set once the head is evaluated.
+   */
+  private static final int HEAD = 1;
+
+  /**
+   * Bit of the state that is set once the tail is evaluated.
+   */
+  private static final int TAIL = 2;
+
+  /**
+   * Bit of the state that is set if the evaluated head is present.
+   */
+  private static final int PRESENT = 4;
+
+  /**
+   * A cached SENTINEL to mark the end of a finite list.
+   */
+  private static final IntInfiniteList SENTINEL = new Sentinel();
+
+  /**
+   * Which of the head and tail are evaluated, and whether the head is
+   * present.  Volatile so that a head or tail evaluated by one thread is
+   * seen by others without the lock.
+   */
+  private volatile int state;
+
+  /**
+   * Value of the head, only meaningful once evaluated and present.
+   */
+  private int value;
+
+  /**
+   * The tail once evaluated.  Until then, the node that this node is
+   * derived from, if any, which is let go when the tail is evaluated.
+   */
+  private IntInfiniteList next;
+
+  /**
+   * Constructor for a node whose head is lazily evaluated from no other
+   * node.
+   */
+  private IntInfiniteList() {
+  }
+
+  /**
+   * Constructor for a node whose head is already known.
+   *
+   * @param value The head.
+   */
+  private IntInfiniteList(int value) {
+    this.value = value;
+    this.state = HEAD | PRESENT;
+  }
+
+  /**
+   * Constructor for a node whose head is lazily evaluated from another node.
+   *
+   * @param source The node that this node is derived from.
+   */
+  private IntInfiniteList(IntInfiniteList source) {
+    this.next = source;
+  }
+
+  /**
+   * Method that evaluates the head of this node, storing its value if
+   * present.  Called once, before the tail is evaluated.
+   *
+   * @param source The node that this node is derived from, or null.
+   * @return True if the head is present, false if it is filtered out.
+   */
+  abstract boolean evaluateHead(IntInfiniteList source);
+
+  /**
+   * Method that evaluates the tail of this node.  Called once, after the
+   * head is evaluated.
+   *
+   * @param source The node that this node is derived from, or null.
+   * @return The tail of this node.
+   */
+  abstract IntInfiniteList evaluateTail(IntInfiniteList source);
+
+  /**
+   * Static method that creates an IntInfiniteList from the producer.
+   *
+   * @param producer Producer that produces every item in the list.
+   * @return IntInfiniteList.
+   */
+  public static IntInfiniteList generate(IntProducer producer) {
+    return new Generate(producer);
+  }
+
+  /**
+   * Static method that creates an IntInfiniteList from an initial seed and a transformer.
+   *
+   * @param seed Initial item.
+   * @param next Transformer that produces subsequent items.
+   * @return IntInfiniteList.
+   */
+  public static IntInfiniteList iterate(int seed, IntTransformer next) {
+    return new Iterate(seed, next);
+  }
+
+  /**
+   * Static method that maps every item of an InfiniteList to an int.
+   *
+   * @param <T> Parameterised type.
+   * @param list The InfiniteList to map.
+   * @param mapper Transformer that transforms each item in the list.
+   * @return IntInfiniteList.
+   */
+  static <T> IntInfiniteList mapFrom(InfiniteList<T> list,
+      ToIntTransformer<? super T> mapper) {
+    if (list.isSentinel()) {
+      return IntInfiniteList.sentinel();
+    }
+    return new MappedFrom<>(list, mapper);
+  }
+
+  /**
+   * Evaluate the head of this node if not yet done so.
+   *
+   * @return True if the head is present, false if it is filtered out.
+   */
+  private boolean isPresent() {
+    int state = this.state;
+    if ((state & HEAD) == 0) {
+      synchronized (this) {
+        state = this.state;
+        if ((state & HEAD) == 0) {
+          state = this.evaluateHead(this.next) ? HEAD | PRESENT : HEAD;
+          this.state = state;
+        }
+      }
+    }
+    return (state & PRESENT) != 0;
+  }
+
+  /**
+   * Evaluate the tail of this node if not yet done so, after its head.
+   * Package-private so that a node read from off-heap memory can make its
+   * tail afresh instead.
+   *
+   * @return The tail of this node.
+   */
+  IntInfiniteList getTail() {
+    if ((this.state & TAIL) == 0) {
+      synchronized (this) {
+        if ((this.state & TAIL) == 0) {
+          this.isPresent();
+          this.next = this.evaluateTail(this.next);
+          this.state = this.state | TAIL;
+        }
+      }
+    }
+    return this.next;
+  }
+
+  /**
+   * Method that skips over the leading filtered-out items in a loop.
+   *
+   * @return The first node with a present head, or a Sentinel.
+   */
+  private IntInfiniteList skipAbsent() {
+    IntInfiniteList curr = this;
+    while (!curr.isSentinel() && !curr.isPresent()) {
+      curr = curr.getTail();
+    }
+    return curr;
+  }
+
+  /**
+   * Method to retrieve the first item that is not filtered out.
+   *
+   * @return The first item.
+   */
+  public int head() {
+    IntInfiniteList first = this.skipAbsent();
+    if (first.isSentinel()) {
+      throw new NoSuchElementException();
+    }
+    return first.value;
+  }
+
+  /**
+   * Method to retrieve the tail after the first item that is not filtered out.
+   *
+   * @return IntInfiniteList.
+   */
+  public IntInfiniteList tail() {
+    IntInfiniteList first = this.skipAbsent();
+    if (first.isSentinel()) {
+      throw new NoSuchElementException();
+    }
+    return first.getTail();
+  }
+
+  /**
+   * Maps the IntInfiniteList.
+   *
+   * @param mapper Transformer that transforms each item in the list.
+   * @return IntInfiniteList.
+   */
+  public IntInfiniteList map(IntTransformer mapper) {
+    return new Mapped(this, mapper);
+  }
+
+  /**
+   * Filters the IntInfiniteList.
+   *
+   * @param predicate BooleanCondition that filters each item in the list.
+   * @return IntInfiniteList.
+   */
+  public IntInfiniteList filter(IntBooleanCondition predicate) {
+    return new Filtered(this, predicate);
+  }
+
+  /**
+   * Static nested class for the nodes of generate.
+   */
+  private static final class Generate extends IntInfiniteList {
+    private final IntProducer producer;
+
+    /**
+     * Private constructor for the creation of a Generate.
+     *
+     * @param producer Producer that produces every item in the list.
+     */
+    private Generate(IntProducer producer) {
+      super();
+      this.producer = producer;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      super.value = this.producer.produce();
+      return true;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return new Generate(this.producer);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of iterate, whose heads are known.
+   */
+  private static final class Iterate extends IntInfiniteList {
+    private final IntTransformer step;
+
+    /**
+     * Private constructor for the creation of an Iterate.
+     *
+     * @param seed The head.
+     * @param step Transformer that produces subsequent items.
+     */
+    private Iterate(int seed, IntTransformer step) {
+      super(seed);
+      this.step = step;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      return true;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return new Iterate(this.step.transform(super.value), this.step);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of mapFrom, whose items come from an
+   * InfiniteList.
+   */
+  private static final class MappedFrom<T> extends IntInfiniteList {
+    private final ToIntTransformer<? super T> mapper;
+
+    /**
+     * The node of the InfiniteList, or null once the tail is evaluated.
+     */
+    private InfiniteList<T> list;
+
+    /**
+     * Private constructor for the creation of a MappedFrom.
+     *
+     * @param list The node of the InfiniteList.
+     * @param mapper Transformer that transforms each item in the list.
+     */
+    private MappedFrom(InfiniteList<T> list, ToIntTransformer<? super T> mapper) {
+      super();
+      this.list = list;
+      this.mapper = mapper;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      Maybe<T> head = this.list.headMaybe();
+      if (head.equals(Maybe.none())) {
+        return false;
+      }
+      super.value = this.mapper.transform(head.get());
+      return true;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      InfiniteList<T> list = this.list;
+      this.list = null;
+      return IntInfiniteList.mapFrom(list.tailList(), this.mapper);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of map.
+   */
+  private static final class Mapped extends IntInfiniteList {
+    private final IntTransformer mapper;
+
+    /**
+     * Private constructor for the creation of a Mapped.
+     *
+     * @param source The node that is mapped.
+     * @param mapper Transformer that transforms each item in the list.
+     */
+    private Mapped(IntInfiniteList source, IntTransformer mapper) {
+      super(source);
+      this.mapper = mapper;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      if (!source.isPresent()) {
+        return false;
+      }
+      super.value = this.mapper.transform(source.value);
+      return true;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return source.getTail().map(this.mapper);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of filter.
+   */
+  private static final class Filtered extends IntInfiniteList {
+    private final IntBooleanCondition predicate;
+
+    /**
+     * Private constructor for the creation of a Filtered.
+     *
+     * @param source The node that is filtered.
+     * @param predicate BooleanCondition that filters each item in the list.
+     */
+    private Filtered(IntInfiniteList source, IntBooleanCondition predicate) {
+      super(source);
+      this.predicate = predicate;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      if (!source.isPresent()) {
+        return false;
+      }
+      super.value = source.value;
+      return this.predicate.test(source.value);
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return source.getTail().filter(this.predicate);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of limit.
+   */
+  private static final class Limited extends IntInfiniteList {
+    private final long n;
+
+    /**
+     * Private constructor for the creation of a Limited.
+     *
+     * @param source The node that is limited.
+     * @param n The number of items kept from the source on, at least 1.
+     */
+    private Limited(IntInfiniteList source, long n) {
+      super(source);
+      this.n = n;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      boolean present = source.isPresent();
+      super.value = source.value;
+      return present;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return source.getTail().limit(super.isPresent() ? this.n - 1 : this.n);
+    }
+  }
+
+  /**
+   * Static nested class for the nodes of takeWhile.
+   */
+  private static final class TakenWhile extends IntInfiniteList {
+    private final IntBooleanCondition predicate;
+
+    /**
+     * Private constructor for the creation of a TakenWhile.
+     *
+     * @param source The node that is truncated.
+     * @param predicate BooleanCondition that checks each element.
+     */
+    private TakenWhile(IntInfiniteList source, IntBooleanCondition predicate) {
+      super(source);
+      this.predicate = predicate;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      if (!source.isPresent()) {
+        return false;
+      }
+      super.value = source.value;
+      return this.predicate.test(source.value);
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return !source.isPresent() || super.isPresent()
+           ? source.getTail().takeWhile(this.predicate)
+           : IntInfiniteList.sentinel();
+    }
+  }
+
+  /**
+   * Method that memoizes the items of the IntInfiniteList off the heap.
+   * Each item is evaluated once, the first time any node of the result
+   * reaches it, and stored in the given memory.  The nodes of the result
+   * are made afresh from their index whenever reached, instead of being
+   * kept, so that however long the memoized prefix is, the heap holds only
+   * the index of its segments.  Reading an item not yet read through a
+   * node after the memory is closed throws IllegalStateException.
+   *
+   * @param memory The off-heap memory to store the items in.
+   * @return IntInfiniteList with the same items.
+   * @throws IllegalStateException if the memory is closed.
+   */
+  public IntInfiniteList offHeap(OffHeap memory) {
+    return new Stored(new Store(this, memory.segments(Integer.BYTES)), 0);
+  }
+
+  /**
+   * Static nested class for the items of a list stored off the heap, and
+   * the node of the list up to which they are stored.
+   */
+  private static final class Store {
+    private final OffHeap.Segments segments;
+
+    /**
+     * The first node not yet stored, or null at the end of the list.
+     */
+    private IntInfiniteList cursor;
+
+    /**
+     * Whether the end of the list has been stored.
+     */
+    private volatile boolean ended;
+
+    /**
+     * The number of items stored.  Volatile so that an item stored by one
+     * thread can be read by others without the lock.
+     */
+    private volatile long count;
+
+    /**
+     * Private constructor for the creation of a Store.
+     *
+     * @param list The list whose items are stored.
+     * @param segments The off-heap storage.
+     */
+    private Store(IntInfiniteList list, OffHeap.Segments segments) {
+      this.segments = segments;
+      this.cursor = list;
+      this.ended = false;
+      this.count = 0;
+    }
+
+    /**
+     * Method that stores items until item k is stored or the list ends.
+     *
+     * @param k The index of the item.
+     * @return True if item k exists.
+     */
+    private boolean fill(long k) {
+      if (k < this.count) {
+        return true;
+      }
+      synchronized (this) {
+        while (this.count <= k && this.cursor != null) {
+          IntInfiniteList first = this.cursor.skipAbsent();
+          if (first.isSentinel()) {
+            this.cursor = null;
+            this.ended = true;
+          } else {
+            this.segments.putInt(this.count, first.value);
+            this.count = this.count + 1;
+            this.cursor = first.getTail();
+          }
+        }
+        return k < this.count;
+      }
+    }
+
+    /**
+     * Method that checks whether the list is known to end before item k.
+     *
+     * @param k The index of the item.
+     * @return True if item k is known not to exist.
+     */
+    private boolean endsBefore(long k) {
+      return this.ended && k >= this.count;
+    }
+  }
+
+  /**
+   * Static nested class for the node of a list stored off the heap at a
+   * given index.  Its head is read from the store, and its tail is a new
+   * node every time, so that no chain of nodes is kept.
+   */
+  private static final class Stored extends IntInfiniteList {
+    private final Store store;
+    private final long index;
+
+    /**
+     * Private constructor for the creation of a Stored.
+     *
+     * @param store The store.
+     * @param index The index of the item.
+     */
+    private Stored(Store store, long index) {
+      super();
+      this.store = store;
+      this.index = index;
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      if (!this.store.fill(this.index)) {
+        return false;
+      }
+      super.value = this.store.segments.getInt(this.index);
+      return true;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return this.store.endsBefore(this.index + 1)
+           ? IntInfiniteList.sentinel()
+           : new Stored(this.store, this.index + 1);
+    }
+
+    @Override
+    IntInfiniteList getTail() {
+      return this.evaluateTail(null);
+    }
+  }
+
+  /**
+   * Static nested class used to mark the end of a finite list.
+   */
+  private static final class Sentinel extends IntInfiniteList {
+    /**
+     * Private constructor for the creation of a Sentinel.
+     */
+    private Sentinel() {
+      super();
+    }
+
+    @Override
+    boolean evaluateHead(IntInfiniteList source) {
+      return false;
+    }
+
+    @Override
+    IntInfiniteList evaluateTail(IntInfiniteList source) {
+      return this;
+    }
+
+    @Override
+    public int head() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public IntInfiniteList tail() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public IntInfiniteList map(IntTransformer mapper) {
+      return IntInfiniteList.sentinel();
+    }
+
+    @Override
+    public IntInfiniteList filter(IntBooleanCondition predicate) {
+      return IntInfiniteList.sentinel();
+    }
+
+    @Override
+    public IntInfiniteList offHeap(OffHeap memory) {
+      return IntInfiniteList.sentinel();
+    }
+
+    @Override
+    public boolean isSentinel() {
+      return true;
+    }
+
+    @Override
+    public IntInfiniteList limit(long n) {
+      return IntInfiniteList.sentinel();
+    }
+
+    @Override
+    public IntInfiniteList takeWhile(IntBooleanCondition predicate) {
+      return IntInfiniteList.sentinel();
+    }
+
+    @Override
+    public int reduce(int identity, IntBinaryCombiner accumulator) {
+      return identity;
+    }
+
+    @Override
+    public long count() {
+      return 0;
+    }
+
+    @Override
+    public int[] toArray() {
+      return new int[0];
+    }
+
+    @Override
+    public InfiniteList<Integer> boxed() {
+      return InfiniteList.sentinel();
+    }
+
+    @Override
+    public String toString() {
+      return "-";
+    }
+  }
+
+  /**
+   * Static factory method to create an end-marker for a finite list.
+   *
+   * @return The Sentinel.
+   */
+  public static IntInfiniteList sentinel() {
+    return IntInfiniteList.SENTINEL;
+  }
+
+  /**
+   * Method to check whether this instance is a Sentinel.
+   *
+   * @return True if this instance is a Sentinel, false otherwise.
+   */
+  public boolean isSentinel() {
+    return false;
+  }
+
+  /**
+   * Method that only takes the first n items from an IntInfiniteList.
+   *
+   * @param n Specifies how many items are kept.
+   * @return A finite IntInfiniteList containing these items.
+   */
+  public IntInfiniteList limit(long n) {
+    return n <= 0
+         ? IntInfiniteList.sentinel()
+         : new Limited(this, n);
+  }
+
+  /**
+   * Method that truncates the list as soon as it finds an element
+   * that evaluates the condition to false.
+   *
+   * @param predicate BooleanCondition that checks each element.
+   * @return A truncated finite IntInfiniteList.
+   */
+  public IntInfiniteList takeWhile(IntBooleanCondition predicate) {
+    return new TakenWhile(this, predicate);
+  }
+
+  /**
+   * Method that applies a lambda repeatedly on the elements of the
+   * IntInfiniteList to reduce it into a single value.
+   *
+   * @param identity Given value to start the operation.
+   * @param accumulator Combiner that combines elements in the IntInfiniteList.
+   * @return A single int value.
+   */
+  public int reduce(int identity, IntBinaryCombiner accumulator) {
+    int result = identity;
+    IntInfiniteList curr = this;
+    while (!curr.isSentinel()) {
+      if (curr.isPresent()) {
+        result = accumulator.combine(result, curr.value);
+      }
+      curr = curr.getTail();
+    }
+    return result;
+  }
+
+  /**
+   * Method that calculates the length of the IntInfiniteList.
+   *
+   * @return The length of the IntInfiniteList.
+   */
+  public long count() {
+    long count = 0;
+    IntInfiniteList curr = this;
+    while (!curr.isSentinel()) {
+      if (curr.isPresent()) {
+        count++;
+      }
+      curr = curr.getTail();
+    }
+    return count;
+  }
+
+  /**
+   * Method used to convert a finite IntInfiniteList into an array.
+   *
+   * @return An array containing the items in a finite IntInfiniteList.
+   */
+  public int[] toArray() {
+    int[] array = new int[16];
+    int size = 0;
+    IntInfiniteList curr = this;
+    while (!curr.isSentinel()) {
+      if (curr.isPresent()) {
+        if (size == array.length) {
+          array = Arrays.copyOf(array, size * 2);
+        }
+        array[size++] = curr.value;
+      }
+      curr = curr.getTail();
+    }
+    return Arrays.copyOf(array, size);
+  }
+
+  /**
+   * Method that lazily boxes every item into an Integer.
+   *
+   * @return An InfiniteList of Integer.
+   */
+  public InfiniteList<Integer> boxed() {
+    return new InfiniteList<>(Lazy.of(() -> this.isPresent()
+                                            ? Maybe.<Integer>some(this.value)
+                                            : Maybe.<Integer>none()),
+                              Lazy.of(() -> this.getTail().boxed()));
+  }
+
+  /**
+   * Returns the string representation of this list, in the same form as
+   * InfiniteList, where ? marks a head or tail that is not yet evaluated.
+   *
+   * @return The string representation.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    int depth = 0;
+    IntInfiniteList curr = this;
+    while (curr != null && !curr.isSentinel()) {
+      int state = curr.state;
+      builder.append('[')
+             .append((state & HEAD) == 0
+                     ? "?"
+                     : (state & PRESENT) != 0 ? "[" + curr.value + "]" : "[]")
+             .append(' ');
+      depth++;
+      curr = (state & TAIL) == 0 ? null : curr.next;
+    }
+    builder.append(curr == null ? "?" : curr.toString());
+    for (int k = 0; k < depth; k++) {
+      builder.append(']');
+    }
+    return builder.toString();
+  }
+}
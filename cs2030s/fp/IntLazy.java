@@ -0,0 +1,189 @@
+package cs2030s.fp;
+
+/**
+ * This class encapsulates lazy evalation of an int value, without boxing
+ * the value.  The producer is evaluated at most once, even when the same
+ * IntLazy is shared between threads.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public class IntLazy {
+  /**
+   * Producer that is to be lazily evaluated, or null once evaluated.
+   */
+  private volatile IntProducer producer;
+
+  /**
+   * Value of the int, only meaningful once the producer is null.
+   */
+  private int value;
+
+  /**
+   * Constructor that takes in concrete value.
+   *
+   * @param value The concrete value.
+   */
+  private IntLazy(int value) {
+    this.value = value;
+  }
+
+  /**
+   * Constructor that takes in producer.
+   *
+   * @param producer The producer that is to be lazily evaluated.
+   */
+  private IntLazy(IntProducer producer) {
+    this.producer = producer;
+  }
+
+  /**
+   * Static factory method that takes in value.
+   *
+   * @param value The value that is already evaluated.
+   * @return Instance of IntLazy.
+   */
+  public static IntLazy of(int value) {
+    return new IntLazy(value);
+  }
+
+  /**
+   * Static factory method that takes in producer.
+   *
+   * @param producer The producer that is to be lazily evaluated.
+   * @return Instance of IntLazy.
+   */
+  public static IntLazy of(IntProducer producer) {
+    return new IntLazy(producer);
+  }
+
+  /**
+   * Evaluate the value if not yet done so and then return it.
+   *
+   * @return Content of type int.
+   */
+  public int get() {
+    if (this.producer != null) {
+      synchronized (this) {
+        IntProducer producer = this.producer;
+        if (producer != null) {
+          this.value = producer.produce();
+          this.producer = null;
+        }
+      }
+    }
+    return this.value;
+  }
+
+  /**
+   * Lazily transforms the content.
+   *
+   * @param transformer Transformer that takes in an int and returns an int.
+   * @return Instance of IntLazy.
+   */
+  public IntLazy map(IntTransformer transformer) {
+    return IntLazy.of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content into an object.
+   *
+   * @param <U>   Type parameter.
+   * @param transformer Transformer that takes in an int and returns some type U.
+   * @return Instance of Lazy of type U.
+   */
+  public <U> Lazy<U> mapToObj(IntToObjTransformer<? extends U> transformer) {
+    return Lazy.<U>of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content.
+   *
+   * @param transformer Transformer that takes in an int and returns an IntLazy.
+   * @return Instance of IntLazy.
+   */
+  public IntLazy flatMap(IntToObjTransformer<? extends IntLazy> transformer) {
+    return IntLazy.of(() -> transformer.transform(this.get()).get());
+  }
+
+  /**
+   * Tests the content, evaluating it if not yet done so.  Unlike filter, it
+   * returns the boolean itself, so that nothing is allocated.
+   *
+   * @param booleanCondition booleanCondition that takes in an int.
+   * @return Whether the content passes the condition.
+   */
+  public boolean test(IntBooleanCondition booleanCondition) {
+    return booleanCondition.test(this.get());
+  }
+
+  /**
+   * Lazily tests the content.  Use test where the result is needed at
+   * once, since this boxes it in a Lazy.
+   *
+   * @param booleanCondition booleanCondition that takes in an int.
+   * @return A boolean value encapsulated in Lazy.
+   */
+  public Lazy<Boolean> filter(IntBooleanCondition booleanCondition) {
+    return Lazy.<Boolean>of(() -> booleanCondition.test(this.get()));
+  }
+
+  /**
+   * Combine two instances of IntLazy.
+   *
+   * @param otherLazy Secondary instance of IntLazy to combine with.
+   * @param combiner Combiner that combines the two values.
+   * @return returns an instance of IntLazy.
+   */
+  public IntLazy combine(IntLazy otherLazy, IntBinaryCombiner combiner) {
+    return IntLazy.of(() -> combiner.combine(this.get(), otherLazy.get()));
+  }
+
+  /**
+   * Lazily boxes the content.
+   *
+   * @return Instance of Lazy of type Integer.
+   */
+  public Lazy<Integer> boxed() {
+    return Lazy.<Integer>of(() -> this.get());
+  }
+
+  /**
+   * Checks if given object is equal to this instance.
+   *
+   * @param obj Object that is to be compared to.
+   * @return Boolean of whether they are equal.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (obj instanceof IntLazy) {
+      return Integer.compare(this.get(), ((IntLazy) obj).get()) == 0;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the hash code of the content, evaluating it if needed.
+   *
+   * @return The hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(this.get());
+  }
+
+  /**
+   * Returns the string representation of this instance.
+   *
+   * @return The string representation.
+   */
+  @Override
+  public String toString() {
+    return this.producer == null ? String.valueOf(this.value) : "?";
+  }
+}
@@ -0,0 +1,268 @@
+package cs2030s.fp;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class encapsulates an int value that may be missing, without boxing
+ * the value.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public abstract class IntMaybe {
+
+  private static final None empty = new None();
+
+  /*
+   * Static nested class.
+   */
+  private static final class None extends IntMaybe {
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof None;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    protected int get() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public boolean isPresent() {
+      return false;
+    }
+
+    @Override
+    public IntMaybe filter(IntBooleanCondition booleanCondition) {
+      return IntMaybe.none();
+    }
+
+    @Override
+    public IntMaybe map(IntTransformer transformer) {
+      return IntMaybe.none();
+    }
+
+    @Override
+    public <U> Maybe<U> mapToObj(IntToObjTransformer<? extends U> transformer) {
+      return Maybe.<U>none();
+    }
+
+    @Override
+    public IntMaybe flatMap(IntToObjTransformer<? extends IntMaybe> transformer) {
+      return IntMaybe.none();
+    }
+
+    @Override
+    public int orElse(int other) {
+      return other;
+    }
+
+    @Override
+    public int orElseGet(IntProducer producer) {
+      return producer.produce();
+    }
+
+    @Override
+    public void ifPresent(IntConsumer consumer) {
+      return;
+    }
+
+    @Override
+    public Maybe<Integer> boxed() {
+      return Maybe.<Integer>none();
+    }
+
+    @Override
+    public String toString() {
+      return "[]";
+    }
+  }
+
+  /*
+   * Immutable static nested class.
+   */
+  private static final class Some extends IntMaybe {
+    private final int item;
+
+    private Some(int item) {
+      this.item = item;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+
+      if (obj instanceof Some) {
+        return Integer.compare(this.item, ((Some) obj).item) == 0;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Integer.hashCode(this.item);
+    }
+
+    @Override
+    protected int get() {
+      return this.item;
+    }
+
+    @Override
+    public boolean isPresent() {
+      return true;
+    }
+
+    @Override
+    public IntMaybe filter(IntBooleanCondition booleanCondition) {
+      return booleanCondition.test(this.item) ? this : IntMaybe.none();
+    }
+
+    @Override
+    public IntMaybe map(IntTransformer transformer) {
+      return IntMaybe.some(transformer.transform(this.item));
+    }
+
+    @Override
+    public <U> Maybe<U> mapToObj(IntToObjTransformer<? extends U> transformer) {
+      return Maybe.<U>some(transformer.transform(this.item));
+    }
+
+    @Override
+    public IntMaybe flatMap(IntToObjTransformer<? extends IntMaybe> transformer) {
+      return transformer.transform(this.item);
+    }
+
+    @Override
+    public int orElse(int other) {
+      return this.item;
+    }
+
+    @Override
+    public int orElseGet(IntProducer producer) {
+      return this.item;
+    }
+
+    @Override
+    public void ifPresent(IntConsumer consumer) {
+      consumer.consume(this.item);
+    }
+
+    @Override
+    public Maybe<Integer> boxed() {
+      return Maybe.<Integer>some(this.item);
+    }
+
+    @Override
+    public String toString() {
+      return "[" + this.item + "]";
+    }
+  }
+
+  /**
+   * Static factory method for a missing value.
+   *
+   * @return The empty IntMaybe.
+   */
+  public static IntMaybe none() {
+    return IntMaybe.empty;
+  }
+
+  /**
+   * Static factory method for a present value.
+   *
+   * @param x The value.
+   * @return an IntMaybe containing x.
+   */
+  public static IntMaybe some(int x) {
+    return new Some(x);
+  }
+
+  /**
+   * Returns the value, for use within this package only.
+   *
+   * @return The value.
+   * @throws NoSuchElementException if the value is missing.
+   */
+  protected abstract int get();
+
+  /**
+   * Checks whether the value is present.
+   *
+   * @return True if the value is present, false otherwise.
+   */
+  public abstract boolean isPresent();
+
+  /**
+   * Keeps the value only if it passes the given condition.
+   *
+   * @param booleanCondition The condition to test the value with.
+   * @return This IntMaybe if the value passes, or none otherwise.
+   */
+  public abstract IntMaybe filter(IntBooleanCondition booleanCondition);
+
+  /**
+   * Transforms the value if present.
+   *
+   * @param transformer The transformer to apply.
+   * @return an IntMaybe of the transformed value.
+   */
+  public abstract IntMaybe map(IntTransformer transformer);
+
+  /**
+   * Transforms the value into an object if present.
+   *
+   * @param <U> The type of the transformed value.
+   * @param transformer The transformer to apply.
+   * @return A Maybe of the transformed value.
+   */
+  public abstract <U> Maybe<U> mapToObj(IntToObjTransformer<? extends U> transformer);
+
+  /**
+   * Transforms the value into another IntMaybe if present.
+   *
+   * @param transformer The transformer to apply.
+   * @return The IntMaybe returned by the transformer, or none.
+   */
+  public abstract IntMaybe flatMap(IntToObjTransformer<? extends IntMaybe> transformer);
+
+  /**
+   * Returns the value if present, or the given value otherwise.
+   *
+   * @param other The value to return if missing.
+   * @return The value or other.
+   */
+  public abstract int orElse(int other);
+
+  /**
+   * Returns the value if present, or the value produced otherwise.
+   *
+   * @param producer The producer to call if missing.
+   * @return The value or the produced value.
+   */
+  public abstract int orElseGet(IntProducer producer);
+
+  /**
+   * If the value within this IntMaybe is missing, do nothing.
+   * Otherwise, consume the value with the given consumer.
+   *
+   * @param consumer The consumer to consume the value
+   */
+  public abstract void ifPresent(IntConsumer consumer);
+
+  /**
+   * Boxes the value into a Maybe.
+   *
+   * @return A Maybe of Integer.
+   */
+  public abstract Maybe<Integer> boxed();
+}
@@ -0,0 +1,16 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that produce an int value.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface IntProducer {
+  /**
+   * The functional method to produce a value.
+   *
+   * @return The value produced.
+   */
+  int produce();
+}
@@ -0,0 +1,17 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that transforms one int value into another.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface IntTransformer {
+  /**
+   * The function method to transform the value x.
+   *
+   * @param x The input value
+   * @return The value after applying the given transformation on x.
+   */
+  int transform(int x);
+}
@@ -1,29 +1,45 @@
 package cs2030s.fp;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 /**
- * This class encapsulates lazy evalation.
+ * This class encapsulates lazy evalation.  The producer is evaluated at
+ * most once, even when the same Lazy is shared between threads.
  *
  * @author Zhiyang Lu Lab 14H
  * @version CS2030S AY21/22 Semester 2
  */
 public class Lazy<T> {
   /**
-   * Producer that is to be lazily evaluated.
+   * Producer that is to be lazily evaluated, or null once evaluated.  The
+   * producer is cleared so that whatever it captures can be garbage-collected,
+   * and it is volatile so that a value written by one thread is safely
+   * published to others.
    */
-  private Producer<? extends T> producer;
+  private volatile Producer<? extends T> producer;
   
   /**
-   * Value of type T encapsulated in Maybe.
+   * Value of type T, only meaningful once the producer is null.
    */
-  private Maybe<T> value;
+  private T value;
 
   /**
    * Constructor that takes in concrete value.
    *
-   * @param value The concrete value that is to be encapsulated in Maybe.
+   * @param value The concrete value.
    */
   private Lazy(T value) {
-    this.value = Maybe.some(value);
+    this.value = value;
+  }
+
+  /**
+   * Constructor for the kinds of Lazy in MemoPolicy, which keep their own
+   * state and override get().
+   */
+  Lazy() {
   }
 
   /**
@@ -33,14 +49,13 @@ public class Lazy<T> {
    */
   private Lazy(Producer<? extends T> producer) {
     this.producer = producer;
-    this.value = Maybe.none();
   }
 
   /**
    * Static factory method that takes in value.
    *
    * @param <U>   Type parameter.
-   * @param value The value that is to be encapsulated in Maybe.
+   * @param value The value that is already evaluated.
    * @return Instance of Lazy.
    */
   public static <U> Lazy<U> of(U value) {
@@ -59,13 +74,74 @@ public class Lazy<T> {
   }
 
   /**
-   * Evaluate the value if not yet done so and then return it.
+   * Static factory method that starts evaluating the producer at once on
+   * the default executor, which uses virtual threads where the JDK has them
+   * and daemon platform threads otherwise.  get() waits for the result, and
+   * map, flatMap, combine and filter return Lazy instances that are
+   * evaluated on the executor as soon as their inputs are, without waiting.
+   *
+   * @param <U>      Type parameter.
+   * @param producer The producer that is to be evaluated asynchronously.
+   * @return Instance of Lazy.
+   */
+  public static <U> Lazy<U> async(Producer<? extends U> producer) {
+    return Lazy.async(producer, Async.DEFAULT);
+  }
+
+  /**
+   * Static factory method that starts evaluating the producer at once on
+   * the given executor, as for async(producer).
+   *
+   * @param <U>      Type parameter.
+   * @param producer The producer that is to be evaluated asynchronously.
+   * @param executor The executor to evaluate on.
+   * @return Instance of Lazy.
+   */
+  public static <U> Lazy<U> async(Producer<? extends U> producer, Executor executor) {
+    return new Async<U>(CompletableFuture.supplyAsync(() -> producer.produce(), executor),
+                        executor);
+  }
+
+  /**
+   * Static method that wraps a future that is already under way, as for
+   * async(producer).  Used by InfiniteList to prefetch items.
+   *
+   * @param <U>      Type parameter.
+   * @param future   The future that completes with the value.
+   * @param executor The executor to evaluate later stages on.
+   * @return Instance of Lazy.
+   */
+  static <U> Lazy<U> of(CompletableFuture<U> future, Executor executor) {
+    return new Async<U>(future, executor);
+  }
+
+  /**
+   * Static method that returns the default executor of async(producer).
+   *
+   * @return The default executor.
+   */
+  static Executor asyncExecutor() {
+    return Async.DEFAULT;
+  }
+
+  /**
+   * Evaluate the value if not yet done so and then return it.  Only the
+   * first evaluation takes the lock; later calls read the volatile producer
+   * and the value, and allocate nothing.
    *
    * @return Content of type T.
    */
   public T get() {
-    this.value = Maybe.some(this.value.orElseGet(this.producer));
-    return this.value.orElse(null);
+    if (this.producer != null) {
+      synchronized (this) {
+        Producer<? extends T> producer = this.producer;
+        if (producer != null) {
+          this.value = producer.produce();
+          this.producer = null;
+        }
+      }
+    }
+    return this.value;
   }
 
   /**
@@ -90,6 +166,36 @@ public class Lazy<T> {
     return Lazy.<U>of(() -> transformer.transform(this.get()).get());
   }
 
+  /**
+   * Lazily transforms the content into an int.
+   *
+   * @param transformer Transformer that takes in type T and returns an int.
+   * @return Instance of IntLazy.
+   */
+  public IntLazy mapToInt(ToIntTransformer<? super T> transformer) {
+    return IntLazy.of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content into a long.
+   *
+   * @param transformer Transformer that takes in type T and returns a long.
+   * @return Instance of LongLazy.
+   */
+  public LongLazy mapToLong(ToLongTransformer<? super T> transformer) {
+    return LongLazy.of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content into a double.
+   *
+   * @param transformer Transformer that takes in type T and returns a double.
+   * @return Instance of DoubleLazy.
+   */
+  public DoubleLazy mapToDouble(ToDoubleTransformer<? super T> transformer) {
+    return DoubleLazy.of(() -> transformer.transform(this.get()));
+  }
+
   /**
    * Lazily tests the content.
    *
@@ -146,6 +252,116 @@ public class Lazy<T> {
    */
   @Override
   public String toString() {
-    return this.value.map(x -> String.valueOf(x)).orElse("?");
+    return this.producer == null ? String.valueOf(this.value) : "?";
+  }
+
+  /**
+   * Static nested class for a Lazy that is evaluated on an executor as a
+   * CompletableFuture.  Its value is still evaluated only once.
+   */
+  private static final class Async<T> extends Lazy<T> {
+    /**
+     * The default executor, created when the first async Lazy is.
+     */
+    private static final Executor DEFAULT = Async.defaultExecutor();
+
+    private final CompletableFuture<T> future;
+    private final Executor executor;
+
+    /**
+     * Private constructor for the creation of an Async.
+     *
+     * @param future The future that completes with the value.
+     * @param executor The executor to evaluate later stages on.
+     */
+    private Async(CompletableFuture<T> future, Executor executor) {
+      this.future = future;
+      this.executor = executor;
+    }
+
+    /**
+     * Static method that returns a virtual-thread-per-task executor if the
+     * JDK has one, and a cached pool of daemon threads otherwise.
+     *
+     * @return The default executor.
+     */
+    private static Executor defaultExecutor() {
+      try {
+        return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+            .invoke(null);
+      } catch (ReflectiveOperationException e) {
+        return Executors.newCachedThreadPool(task -> {
+          Thread thread = new Thread(task, "lazy-async");
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+
+    /**
+     * Static method that returns a future of the value of a Lazy, which is
+     * the future itself for an Async, and evaluates any other Lazy on the
+     * calling thread.
+     *
+     * @param <U> Type parameter.
+     * @param lazy The Lazy.
+     * @return The future of its value.
+     */
+    private static <U> CompletableFuture<U> future(Lazy<? extends U> lazy) {
+      return lazy instanceof Async<?>
+           ? ((Async<? extends U>) lazy).future.thenApply(value -> value)
+           : CompletableFuture.completedFuture(lazy.get());
+    }
+
+    @Override
+    public T get() {
+      try {
+        return this.future.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw e;
+      }
+    }
+
+    @Override
+    public <U> Lazy<U> map(Transformer<? super T, ? extends U> transformer) {
+      return new Async<U>(this.future.<U>thenApplyAsync(value -> transformer.transform(value),
+                                                        this.executor), this.executor);
+    }
+
+    @Override
+    public <U> Lazy<U> flatMap(Transformer<? super T, ? extends Lazy<? extends U>> transformer) {
+      return new Async<U>(this.future.<U>thenComposeAsync(
+          value -> Async.future(transformer.transform(value)), this.executor), this.executor);
+    }
+
+    @Override
+    public Lazy<Boolean> filter(BooleanCondition<? super T> booleanCondition) {
+      return new Async<Boolean>(this.future.<Boolean>thenApplyAsync(
+          value -> booleanCondition.test(value), this.executor), this.executor);
+    }
+
+    @Override
+    public <U, V> Lazy<V> combine(Lazy<? extends U> otherLazy,
+                                  Combiner<? super T, ? super U, ? extends V> combiner) {
+      return new Async<V>(otherLazy instanceof Async<?>
+                          ? this.future.<U, V>thenCombineAsync(Async.future(otherLazy),
+                              (value, other) -> combiner.combine(value, other), this.executor)
+                          : this.future.<V>thenApplyAsync(
+                              value -> combiner.combine(value, otherLazy.get()), this.executor),
+                          this.executor);
+    }
+
+    @Override
+    public String toString() {
+      return this.future.isDone() && !this.future.isCompletedExceptionally()
+           ? String.valueOf(this.future.join())
+           : "?";
+    }
   }
 }
@@ -0,0 +1,16 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that consumes a long value.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ */
+@FunctionalInterface
+public interface LongConsumer {
+  /**
+   * The functional method to consume a value.
+   *
+   * @param x the value to consume
+   */
+  void consume(long x);
+}
@@ -0,0 +1,189 @@
+package cs2030s.fp;
+
+/**
+ * This class encapsulates lazy evalation of a long value, without boxing
+ * the value.  The producer is evaluated at most once, even when the same
+ * LongLazy is shared between threads.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public class LongLazy {
+  /**
+   * Producer that is to be lazily evaluated, or null once evaluated.
+   */
+  private volatile LongProducer producer;
+
+  /**
+   * Value of the long, only meaningful once the producer is null.
+   */
+  private long value;
+
+  /**
+   * Constructor that takes in concrete value.
+   *
+   * @param value The concrete value.
+   */
+  private LongLazy(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Constructor that takes in producer.
+   *
+   * @param producer The producer that is to be lazily evaluated.
+   */
+  private LongLazy(LongProducer producer) {
+    this.producer = producer;
+  }
+
+  /**
+   * Static factory method that takes in value.
+   *
+   * @param value The value that is already evaluated.
+   * @return Instance of LongLazy.
+   */
+  public static LongLazy of(long value) {
+    return new LongLazy(value);
+  }
+
+  /**
+   * Static factory method that takes in producer.
+   *
+   * @param producer The producer that is to be lazily evaluated.
+   * @return Instance of LongLazy.
+   */
+  public static LongLazy of(LongProducer producer) {
+    return new LongLazy(producer);
+  }
+
+  /**
+   * Evaluate the value if not yet done so and then return it.
+   *
+   * @return Content of type long.
+   */
+  public long get() {
+    if (this.producer != null) {
+      synchronized (this) {
+        LongProducer producer = this.producer;
+        if (producer != null) {
+          this.value = producer.produce();
+          this.producer = null;
+        }
+      }
+    }
+    return this.value;
+  }
+
+  /**
+   * Lazily transforms the content.
+   *
+   * @param transformer Transformer that takes in a long and returns a long.
+   * @return Instance of LongLazy.
+   */
+  public LongLazy map(LongTransformer transformer) {
+    return LongLazy.of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content into an object.
+   *
+   * @param <U>   Type parameter.
+   * @param transformer Transformer that takes in a long and returns some type U.
+   * @return Instance of Lazy of type U.
+   */
+  public <U> Lazy<U> mapToObj(LongToObjTransformer<? extends U> transformer) {
+    return Lazy.<U>of(() -> transformer.transform(this.get()));
+  }
+
+  /**
+   * Lazily transforms the content.
+   *
+   * @param transformer Transformer that takes in a long and returns a LongLazy.
+   * @return Instance of LongLazy.
+   */
+  public LongLazy flatMap(LongToObjTransformer<? extends LongLazy> transformer) {
+    return LongLazy.of(() -> transformer.transform(this.get()).get());
+  }
+
+  /**
+   * Tests the content, evaluating it if not yet done so.  Unlike filter, it
+   * returns the boolean itself, so that nothing is allocated.
+   *
+   * @param booleanCondition booleanCondition that takes in a long.
+   * @return Whether the content passes the condition.
+   */
+  public boolean test(LongBooleanCondition booleanCondition) {
+    return booleanCondition.test(this.get());
+  }
+
+  /**
+   * Lazily tests the content.  Use test where the result is needed at
+   * once, since this boxes it in a Lazy.
+   *
+   * @param booleanCondition booleanCondition that takes in a long.
+   * @return A boolean value encapsulated in Lazy.
+   */
+  public Lazy<Boolean> filter(LongBooleanCondition booleanCondition) {
+    return Lazy.<Boolean>of(() -> booleanCondition.test(this.get()));
+  }
+
+  /**
+   * Combine two instances of LongLazy.
+   *
+   * @param otherLazy Secondary instance of LongLazy to combine with.
+   * @param combiner Combiner that combines the two values.
+   * @return returns an instance of LongLazy.
+   */
+  public LongLazy combine(LongLazy otherLazy, LongBinaryCombiner combiner) {
+    return LongLazy.of(() -> combiner.combine(this.get(), otherLazy.get()));
+  }
+
+  /**
+   * Lazily boxes the content.
+   *
+   * @return Instance of Lazy of type Long.
+   */
+  public Lazy<Long> boxed() {
+    return Lazy.<Long>of(() -> this.get());
+  }
+
+  /**
+   * Checks if given object is equal to this instance.
+   *
+   * @param obj Object that is to be compared to.
+   * @return Boolean of whether they are equal.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (obj instanceof LongLazy) {
+      return Long.compare(this.get(), ((LongLazy) obj).get()) == 0;
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the hash code of the content, evaluating it if needed.
+   *
+   * @return The hash code.
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.get());
+  }
+
+  /**
+   * Returns the string representation of this instance.
+   *
+   * @return The string representation.
+   */
+  @Override
+  public String toString() {
+    return this.producer == null ? String.valueOf(this.value) : "?";
+  }
+}
@@ -0,0 +1,268 @@
+package cs2030s.fp;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class encapsulates a long value that may be missing, without boxing
+ * the value.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public abstract class LongMaybe {
+
+  private static final None empty = new None();
+
+  /*
+   * Static nested class.
+   */
+  private static final class None extends LongMaybe {
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof None;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    protected long get() {
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public boolean isPresent() {
+      return false;
+    }
+
+    @Override
+    public LongMaybe filter(LongBooleanCondition booleanCondition) {
+      return LongMaybe.none();
+    }
+
+    @Override
+    public LongMaybe map(LongTransformer transformer) {
+      return LongMaybe.none();
+    }
+
+    @Override
+    public <U> Maybe<U> mapToObj(LongToObjTransformer<? extends U> transformer) {
+      return Maybe.<U>none();
+    }
+
+    @Override
+    public LongMaybe flatMap(LongToObjTransformer<? extends LongMaybe> transformer) {
+      return LongMaybe.none();
+    }
+
+    @Override
+    public long orElse(long other) {
+      return other;
+    }
+
+    @Override
+    public long orElseGet(LongProducer producer) {
+      return producer.produce();
+    }
+
+    @Override
+    public void ifPresent(LongConsumer consumer) {
+      return;
+    }
+
+    @Override
+    public Maybe<Long> boxed() {
+      return Maybe.<Long>none();
+    }
+
+    @Override
+    public String toString() {
+      return "[]";
+    }
+  }
+
+  /*
+   * Immutable static nested class.
+   */
+  private static final class Some extends LongMaybe {
+    private final long item;
+
+    private Some(long item) {
+      this.item = item;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+
+      if (obj instanceof Some) {
+        return Long.compare(this.item, ((Some) obj).item) == 0;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(this.item);
+    }
+
+    @Override
+    protected long get() {
+      return this.item;
+    }
+
+    @Override
+    public boolean isPresent() {
+      return true;
+    }
+
+    @Override
+    public LongMaybe filter(LongBooleanCondition booleanCondition) {
+      return booleanCondition.test(this.item) ? this : LongMaybe.none();
+    }
+
+    @Override
+    public LongMaybe map(LongTransformer transformer) {
+      return LongMaybe.some(transformer.transform(this.item));
+    }
+
+    @Override
+    public <U> Maybe<U> mapToObj(LongToObjTransformer<? extends U> transformer) {
+      return Maybe.<U>some(transformer.transform(this.item));
+    }
+
+    @Override
+    public LongMaybe flatMap(LongToObjTransformer<? extends LongMaybe> transformer) {
+      return transformer.transform(this.item);
+    }
+
+    @Override
+    public long orElse(long other) {
+      return this.item;
+    }
+
+    @Override
+    public long orElseGet(LongProducer producer) {
+      return this.item;
+    }
+
+    @Override
+    public void ifPresent(LongConsumer consumer) {
+      consumer.consume(this.item);
+    }
+
+    @Override
+    public Maybe<Long> boxed() {
+      return Maybe.<Long>some(this.item);
+    }
+
+    @Override
+    public String toString() {
+      return "[" + this.item + "]";
+    }
+  }
+
+  /**
+   * Static factory method for a missing value.
+   *
+   * @return The empty LongMaybe.
+   */
+  public static LongMaybe none() {
+    return LongMaybe.empty;
+  }
+
+  /**
+   * Static factory method for a present value.
+   *
+   * @param x The value.
+   * @return a LongMaybe containing x.
+   */
+  public static LongMaybe some(long x) {
+    return new Some(x);
+  }
+
+  /**
+   * Returns the value, for use within this package only.
+   *
+   * @return The value.
+   * @throws NoSuchElementException if the value is missing.
+   */
+  protected abstract long get();
+
+  /**
+   * Checks whether the value is present.
+   *
+   * @return True if the value is present, false otherwise.
+   */
+  public abstract boolean isPresent();
+
+  /**
+   * Keeps the value only if it passes the given condition.
+   *
+   * @param booleanCondition The condition to test the value with.
+   * @return This LongMaybe if the value passes, or none otherwise.
+   */
+  public abstract LongMaybe filter(LongBooleanCondition booleanCondition);
+
+  /**
+   * Transforms the value if present.
+   *
+   * @param transformer The transformer to apply.
+   * @return a LongMaybe of the transformed value.
+   */
+  public abstract LongMaybe map(LongTransformer transformer);
+
+  /**
+   * Transforms the value into an object if present.
+   *
+   * @param <U> The type of the transformed value.
+   * @param transformer The transformer to apply.
+   * @return A Maybe of the transformed value.
+   */
+  public abstract <U> Maybe<U> mapToObj(LongToObjTransformer<? extends U> transformer);
+
+  /**
+   * Transforms the value into another LongMaybe if present.
+   *
+   * @param transformer The transformer to apply.
+   * @return The LongMaybe returned by the transformer, or none.
+   */
+  public abstract LongMaybe flatMap(LongToObjTransformer<? extends LongMaybe> transformer);
+
+  /**
+   * Returns the value if present, or the given value otherwise.
+   *
+   * @param other The value to return if missing.
+   * @return The value or other.
+   */
+  public abstract long orElse(long other);
+
+  /**
+   * Returns the value if present, or the value produced otherwise.
+   *
+   * @param producer The producer to call if missing.
+   * @return The value or the produced value.
+   */
+  public abstract long orElseGet(LongProducer producer);
+
+  /**
+   * If the value within this LongMaybe is missing, do nothing.
+   * Otherwise, consume the value with the given consumer.
+   *
+   * @param consumer The consumer to consume the value
+   */
+  public abstract void ifPresent(LongConsumer consumer);
+
+  /**
+   * Boxes the value into a Maybe.
+   *
+   * @return A Maybe of Long.
+   */
+  public abstract Maybe<Long> boxed();
+}
@@ -0,0 +1,219 @@
+package cs2030s.fp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class encapsulates a read-only file that is memory-mapped one
+ * window at a time, so that files larger than a ByteBuffer can hold are
+ * read through a series of windows.  Used by InfiniteList.fromFile.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+final class MappedFile {
+  /**
+   * The largest window, which is the largest ByteBuffer that can be mapped.
+   */
+  static final int MAX_WINDOW = Integer.MAX_VALUE - 8;
+
+  private final Path path;
+  private final long size;
+  private final int window;
+
+  /**
+   * The window of the last record read, so that records next to each other
+   * share a window.
+   */
+  private volatile Window last;
+
+  /**
+   * Constructor that takes in the file and the window size.  The size of
+   * the file is read once, here.
+   *
+   * @param path The file to map.
+   * @param window The number of bytes to map at a time.
+   * @throws UncheckedIOException if the size of the file cannot be read.
+   */
+  MappedFile(Path path, int window) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      this.size = channel.size();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.path = path;
+    this.window = window;
+  }
+
+  /**
+   * Method to retrieve the size of the file when it was opened.
+   *
+   * @return The size in bytes.
+   */
+  long size() {
+    return this.size;
+  }
+
+  /**
+   * Method that maps a window of the file.  The channel is closed once the
+   * window is mapped, as a mapped buffer stays valid without it.
+   *
+   * @param start The offset of the window in the file.
+   * @param length The length of the window.
+   * @return The mapped window.
+   */
+  MappedByteBuffer map(long start, long length) {
+    try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Method that finds the line that starts at the given offset, in the
+   * given window if it holds the whole line, and otherwise in a new window
+   * that starts at the line.  The line ends before the next '\n', or a
+   * "\r\n", or at the end of the file.
+   *
+   * @param current The window of the previous line, or null.
+   * @param start The offset of the line in the file.
+   * @return The line.
+   * @throws IllegalStateException if the line is longer than MAX_WINDOW.
+   */
+  Line line(Window current, long start) {
+    Window window = current;
+    long length = this.window;
+    while (true) {
+      if (window == null || start < window.base || start > window.end()) {
+        window = new Window(this.map(start, Math.min(length, this.size - start)), start);
+      }
+      ByteBuffer buffer = window.buffer;
+      int from = (int) (start - window.base);
+      for (int k = from; k < buffer.limit(); k++) {
+        if (buffer.get(k) == '\n') {
+          int to = k > from && buffer.get(k - 1) == '\r' ? k - 1 : k;
+          return new Line(window, from, to, window.base + k + 1);
+        }
+      }
+      if (window.end() >= this.size) {
+        return new Line(window, from, buffer.limit(), this.size);
+      }
+      if (window.base == start) {
+        if (length >= MAX_WINDOW) {
+          throw new IllegalStateException("line at " + start + " is longer than " + MAX_WINDOW);
+        }
+        length = Math.min(2 * length, MAX_WINDOW);
+      }
+      window = null;
+    }
+  }
+
+  /**
+   * Method that returns a read-only view of a fixed-width record, without
+   * copying it.  Windows hold a whole number of records, so that no record
+   * crosses a window.
+   *
+   * @param k The index of the record.
+   * @param width The width of each record.
+   * @return The bytes of the record.
+   */
+  ByteBuffer record(long k, int width) {
+    long start = k * width;
+    Window window = this.last;
+    if (window == null || start < window.base || start + width > window.end()) {
+      long records = Math.max(1, this.window / width);
+      long base = k / records * records * width;
+      long length = Math.min(records * width, this.size / width * width - base);
+      window = new Window(this.map(base, length), base);
+      this.last = window;
+    }
+    return window.buffer.slice((int) (start - window.base), width);
+  }
+
+  /**
+   * Static nested class for a mapped window and its offset in the file.
+   */
+  static final class Window {
+    private final MappedByteBuffer buffer;
+    private final long base;
+
+    /**
+     * Private constructor for the creation of a Window.
+     *
+     * @param buffer The mapped window.
+     * @param base The offset of the window in the file.
+     */
+    private Window(MappedByteBuffer buffer, long base) {
+      this.buffer = buffer;
+      this.base = base;
+    }
+
+    /**
+     * Method that returns the offset just after the window in the file.
+     *
+     * @return The offset.
+     */
+    private long end() {
+      return this.base + this.buffer.limit();
+    }
+  }
+
+  /**
+   * Static nested class for a line found in a window.
+   */
+  static final class Line {
+    private final Window window;
+    private final int from;
+    private final int to;
+    private final long next;
+
+    /**
+     * Private constructor for the creation of a Line.
+     *
+     * @param window The window that holds the line.
+     * @param from The index of the line in the window.
+     * @param to The index after the line in the window.
+     * @param next The offset of the next line in the file.
+     */
+    private Line(Window window, int from, int to, long next) {
+      this.window = window;
+      this.from = from;
+      this.to = to;
+      this.next = next;
+    }
+
+    /**
+     * Method that returns the window that holds the line.
+     *
+     * @return The window.
+     */
+    Window window() {
+      return this.window;
+    }
+
+    /**
+     * Method that returns the offset of the next line in the file.
+     *
+     * @return The offset.
+     */
+    long next() {
+      return this.next;
+    }
+
+    /**
+     * Method that returns a read-only view of the bytes of the line, without
+     * copying them.
+     *
+     * @return The bytes of the line.
+     */
+    ByteBuffer bytes() {
+      return this.window.buffer.slice(this.from, this.to - this.from);
+    }
+  }
+}
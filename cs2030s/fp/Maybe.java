@@ -48,6 +48,21 @@ public abstract class Maybe<T> {
       return Maybe.<U>none();
     }
 
+    @Override
+    public IntMaybe mapToInt(ToIntTransformer<? super Object> transformer) {
+      return IntMaybe.none();
+    }
+
+    @Override
+    public LongMaybe mapToLong(ToLongTransformer<? super Object> transformer) {
+      return LongMaybe.none();
+    }
+
+    @Override
+    public DoubleMaybe mapToDouble(ToDoubleTransformer<? super Object> transformer) {
+      return DoubleMaybe.none();
+    }
+
     @Override
     public <U> Maybe<U> flatMap(Transformer<? super Object,
                                 ? extends Maybe<? extends U>> transformer) {
@@ -136,6 +151,21 @@ public abstract class Maybe<T> {
       return Maybe.<U>some(transformer.transform(Some.this.item));
     }
 
+    @Override
+    public IntMaybe mapToInt(ToIntTransformer<? super T> transformer) {
+      return IntMaybe.some(transformer.transform(Some.this.item));
+    }
+
+    @Override
+    public LongMaybe mapToLong(ToLongTransformer<? super T> transformer) {
+      return LongMaybe.some(transformer.transform(Some.this.item));
+    }
+
+    @Override
+    public DoubleMaybe mapToDouble(ToDoubleTransformer<? super T> transformer) {
+      return DoubleMaybe.some(transformer.transform(Some.this.item));
+    }
+
     @Override
     public <U> Maybe<U> flatMap(Transformer<? super T, ? extends Maybe<? extends U>> transformer) {
       Maybe<? extends U> oneLayer = transformer.transform(Some.this.item);
@@ -206,6 +236,12 @@ public abstract class Maybe<T> {
 
   public abstract <U> Maybe<U> map(Transformer<? super T, ? extends U> transformer);
 
+  public abstract IntMaybe mapToInt(ToIntTransformer<? super T> transformer);
+
+  public abstract LongMaybe mapToLong(ToLongTransformer<? super T> transformer);
+
+  public abstract DoubleMaybe mapToDouble(ToDoubleTransformer<? super T> transformer);
+
   public abstract <U> Maybe<U> flatMap(Transformer<? super T,
                                        ? extends Maybe<? extends U>> transformer);
 
@@ -0,0 +1,547 @@
+package cs2030s.fp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class encapsulates how an InfiniteList memoizes its heads and tails.
+ * ALL keeps every evaluated value, NONE keeps none and evaluates again on
+ * every read, and lastN(k) keeps only the values of about the k most
+ * recently evaluated nodes.  A policy given to InfiniteList.cache() is kept
+ * by every list built from the result.  InfiniteList.spill() uses a fourth
+ * policy, which moves older heads to a file instead of dropping them.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public abstract class MemoPolicy {
+  /**
+   * Policy that memoizes every head and tail once evaluated.
+   */
+  public static final MemoPolicy ALL = new All();
+
+  /**
+   * Policy that memoizes nothing, so that a list keeps no evaluated items.
+   */
+  public static final MemoPolicy NONE = new None();
+
+  /**
+   * Private constructor, as the policies are ALL, NONE and lastN(k).
+   */
+  private MemoPolicy() {
+  }
+
+  /**
+   * Static factory method for a policy that memoizes only the heads and
+   * tails of the k most recently evaluated nodes, and evaluates the others
+   * again if read.  Each call returns a policy with its own buffer.
+   *
+   * @param k The number of recent nodes to memoize.
+   * @return Instance of MemoPolicy.
+   * @throws IllegalArgumentException if k is not positive.
+   */
+  public static MemoPolicy lastN(int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("k must be positive: " + k);
+    }
+    return new LastN(k);
+  }
+
+  /**
+   * Static factory method for a policy that memoizes every head and tail,
+   * but keeps only the budget most recently used heads on the heap, and
+   * moves older heads to a spill file, encoded with the encoder, from
+   * which they are decoded again when read.  A head is encoded once, when
+   * first moved out.  Tails are memoized on the heap as for ALL.  The file
+   * is deleted once the policy, and so every list that uses it, is
+   * garbage-collected, or else on exit.
+   *
+   * @param <T> Type of the heads.
+   * @param budget The number of heads to keep on the heap.
+   * @param encoder Transformer that encodes a head into bytes.
+   * @param decoder Transformer that decodes a head from its bytes.
+   * @return Instance of MemoPolicy.
+   * @throws IllegalArgumentException if budget is not positive.
+   */
+  static <T> MemoPolicy spill(int budget, Transformer<? super T, ? extends ByteBuffer> encoder,
+                              Transformer<? super ByteBuffer, ? extends T> decoder) {
+    if (budget <= 0) {
+      throw new IllegalArgumentException("budget must be positive: " + budget);
+    }
+    return new Spill<T>(budget, encoder, decoder);
+  }
+
+  /**
+   * Static method that returns the policy that made the given Lazy.
+   *
+   * @param lazy The Lazy, or null.
+   * @return The policy that made it, or ALL for a plain Lazy or null.
+   */
+  static MemoPolicy of(Lazy<?> lazy) {
+    return lazy instanceof Recomputed<?>
+         ? MemoPolicy.NONE
+         : lazy instanceof Recent<?>
+         ? ((Recent<?>) lazy).policy
+         : MemoPolicy.ALL;
+  }
+
+  /**
+   * Method that makes a Lazy that memoizes according to this policy.
+   *
+   * @param <T> Type parameter.
+   * @param producer The producer that is to be lazily evaluated.
+   * @return Instance of Lazy.
+   */
+  abstract <T> Lazy<T> lazy(Producer<? extends T> producer);
+
+  /**
+   * Method that makes a Lazy of a value that is known at once, such as the
+   * seed of iterate, which is kept as it is unless the policy spills.
+   *
+   * @param <T> Type parameter.
+   * @param value The value.
+   * @return Instance of Lazy.
+   */
+  <T> Lazy<T> value(T value) {
+    return Lazy.of(value);
+  }
+
+  /*
+   * Static nested class.
+   */
+  private static final class All extends MemoPolicy {
+    @Override
+    <T> Lazy<T> lazy(Producer<? extends T> producer) {
+      return Lazy.of(producer);
+    }
+
+    @Override
+    public String toString() {
+      return "ALL";
+    }
+  }
+
+  /*
+   * Static nested class.
+   */
+  private static final class None extends MemoPolicy {
+    @Override
+    <T> Lazy<T> lazy(Producer<? extends T> producer) {
+      return new Recomputed<>(producer);
+    }
+
+    @Override
+    public String toString() {
+      return "NONE";
+    }
+  }
+
+  /*
+   * Static nested class.
+   */
+  private static final class LastN extends MemoPolicy {
+    /**
+     * Ring of the most recently evaluated Lazy instances, two per node.
+     */
+    private final Recent<?>[] ring;
+
+    /**
+     * The slot in the ring to fill next.
+     */
+    private int next;
+
+    /**
+     * Private constructor for the creation of a LastN.
+     *
+     * @param k The number of recent nodes to memoize.
+     */
+    private LastN(int k) {
+      this.ring = new Recent<?>[(int) Math.min(2L * k, Integer.MAX_VALUE)];
+      this.next = 0;
+    }
+
+    @Override
+    <T> Lazy<T> lazy(Producer<? extends T> producer) {
+      return new Recent<>(producer, this);
+    }
+
+    /**
+     * Method that records a newly evaluated Lazy, and makes the oldest one
+     * in the ring forget its value.
+     *
+     * @param lazy The newly evaluated Lazy.
+     */
+    private synchronized void remember(Recent<?> lazy) {
+      Recent<?> oldest = this.ring[this.next];
+      this.ring[this.next] = lazy;
+      this.next = (this.next + 1) % this.ring.length;
+      if (oldest != null && oldest != lazy) {
+        oldest.forget();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "LAST_N(" + (this.ring.length / 2) + ")";
+    }
+  }
+
+  /**
+   * Static nested class for the policy of InfiniteList.spill().  The ring
+   * holds the heads on the heap, most recent last, and a head that falls
+   * out of it is written to the spill file, if it is not there already,
+   * and dropped.
+   */
+  private static final class Spill<T> extends MemoPolicy {
+    /**
+     * Closes and so deletes the spill files of unreachable policies.
+     */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Transformer<? super T, ? extends ByteBuffer> encoder;
+    private final Transformer<? super ByteBuffer, ? extends T> decoder;
+    private final Spilled<?>[] ring;
+    private final SpillFile file;
+
+    /**
+     * The slot in the ring to fill next.
+     */
+    private int next;
+
+    /**
+     * Private constructor for the creation of a Spill.
+     *
+     * @param budget The number of heads to keep on the heap.
+     * @param encoder Transformer that encodes a head into bytes.
+     * @param decoder Transformer that decodes a head from its bytes.
+     */
+    private Spill(int budget, Transformer<? super T, ? extends ByteBuffer> encoder,
+                  Transformer<? super ByteBuffer, ? extends T> decoder) {
+      this.encoder = encoder;
+      this.decoder = decoder;
+      this.ring = new Spilled<?>[budget];
+      this.file = new SpillFile();
+      this.next = 0;
+      CLEANER.register(this, this.file);
+    }
+
+    @Override
+    <U> Lazy<U> lazy(Producer<? extends U> producer) {
+      return new Spilled<>(producer, this);
+    }
+
+    @Override
+    <U> Lazy<U> value(U value) {
+      Spilled<U> lazy = new Spilled<>(null, this);
+      lazy.value = value;
+      this.remember(lazy);
+      return lazy;
+    }
+
+    /**
+     * Method that records a head that is now on the heap, and moves the
+     * oldest head in the ring out to the spill file.  Values other than
+     * present heads, such as tails, are not recorded.
+     *
+     * @param lazy The Lazy of the head.
+     */
+    private synchronized void remember(Spilled<?> lazy) {
+      Object value = lazy.value;
+      if (!(value instanceof Maybe<?>) || value.equals(Maybe.none())) {
+        return;
+      }
+      Spilled<?> oldest = this.ring[this.next];
+      this.ring[this.next] = lazy;
+      this.next = (this.next + 1) % this.ring.length;
+      if (oldest != null && oldest != lazy) {
+        oldest.spill();
+      }
+    }
+
+    /**
+     * Method that encodes a head and appends it to the spill file.
+     *
+     * @param head The present head.
+     * @param lazy The Lazy to record the offset and length in.
+     */
+    @SuppressWarnings("unchecked")
+    private void write(Object head, Spilled<?> lazy) {
+      ByteBuffer bytes = this.encoder.transform(((Maybe<T>) head).orElse(null)).duplicate();
+      lazy.length = bytes.remaining();
+      lazy.offset = this.file.append(bytes);
+    }
+
+    /**
+     * Method that reads a head back from the spill file and decodes it.
+     *
+     * @param lazy The Lazy of the head.
+     * @return The head.
+     */
+    private Maybe<T> read(Spilled<?> lazy) {
+      return Maybe.some(this.decoder.transform(this.file.read(lazy.offset, lazy.length)));
+    }
+
+    @Override
+    public String toString() {
+      return "SPILL(" + this.ring.length + ")";
+    }
+  }
+
+  /**
+   * Static nested class for the spill file of a Spill policy, which is
+   * created when the first head is spilled, and deleted when closed.  It
+   * does not refer to its policy, so that it can clean up after it.
+   */
+  private static final class SpillFile implements Runnable {
+    private FileChannel channel;
+    private long end;
+
+    /**
+     * Method that appends bytes to the file.
+     *
+     * @param bytes The bytes, which are used up.
+     * @return The offset of the bytes in the file.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    private synchronized long append(ByteBuffer bytes) {
+      long offset = this.end;
+      try {
+        if (this.channel == null) {
+          Path path = Files.createTempFile("infinitelist", ".spill");
+          path.toFile().deleteOnExit();
+          this.channel = FileChannel.open(path, StandardOpenOption.READ,
+                                          StandardOpenOption.WRITE,
+                                          StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        while (bytes.hasRemaining()) {
+          this.end += this.channel.write(bytes, this.end);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return offset;
+    }
+
+    /**
+     * Method that reads bytes back from the file.
+     *
+     * @param offset The offset of the bytes.
+     * @param length The number of bytes.
+     * @return The bytes.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    private ByteBuffer read(long offset, int length) {
+      ByteBuffer bytes = ByteBuffer.allocate(length);
+      FileChannel channel;
+      synchronized (this) {
+        channel = this.channel;
+      }
+      try {
+        while (bytes.hasRemaining()) {
+          if (channel.read(bytes, offset + bytes.position()) < 0) {
+            throw new IOException("spill file is shorter than expected");
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return bytes.flip();
+    }
+
+    /**
+     * Method that closes, and so deletes, the file.
+     */
+    @Override
+    public synchronized void run() {
+      try {
+        if (this.channel != null) {
+          this.channel.close();
+        }
+      } catch (IOException e) {
+        // Nothing is left to clean up if the file cannot be closed.
+      }
+    }
+  }
+
+  /**
+   * Static nested class for a Lazy of a Spill policy.  Once evaluated, the
+   * value is either on the heap, or, for a head moved out, at an offset in
+   * the spill file.  The producer is dropped once evaluated, as a head is
+   * never evaluated again.
+   */
+  private static final class Spilled<T> extends Lazy<T> {
+    private Producer<? extends T> producer;
+    private final Spill<?> policy;
+
+    /**
+     * The value, or null before evaluation and once moved out.  Volatile so
+     * that a value read without the lock is safely published.
+     */
+    private volatile Object value;
+
+    /**
+     * Whether the value has been evaluated.
+     */
+    private boolean evaluated;
+    private long offset;
+    private int length;
+
+    /**
+     * Private constructor for the creation of a Spilled.
+     *
+     * @param producer The producer that is to be lazily evaluated.
+     * @param policy The policy that spills this Lazy.
+     */
+    private Spilled(Producer<? extends T> producer, Spill<?> policy) {
+      this.producer = producer;
+      this.policy = policy;
+      this.evaluated = producer == null;
+      this.offset = -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+      Object value = this.value;
+      if (value == null) {
+        boolean loaded = false;
+        synchronized (this) {
+          value = this.value;
+          if (value == null) {
+            if (this.evaluated) {
+              value = this.policy.read(this);
+            } else {
+              value = this.producer.produce();
+              this.producer = null;
+              this.evaluated = true;
+            }
+            this.value = value;
+            loaded = true;
+          }
+        }
+        if (loaded) {
+          this.policy.remember(this);
+        }
+      }
+      return (T) value;
+    }
+
+    /**
+     * Method that moves the value out to the spill file, if it is not there
+     * already, and drops it from the heap.
+     */
+    private synchronized void spill() {
+      Object value = this.value;
+      if (value != null) {
+        if (this.offset < 0) {
+          this.policy.write(value, this);
+        }
+        this.value = null;
+      }
+    }
+
+    @Override
+    public String toString() {
+      Object value = this.value;
+      return value == null ? "?" : String.valueOf(value);
+    }
+  }
+
+  /**
+   * Static nested class for a Lazy that evaluates its producer on every get.
+   */
+  private static final class Recomputed<T> extends Lazy<T> {
+    private final Producer<? extends T> producer;
+
+    /**
+     * Private constructor for the creation of a Recomputed.
+     *
+     * @param producer The producer that is evaluated on every get.
+     */
+    private Recomputed(Producer<? extends T> producer) {
+      this.producer = producer;
+    }
+
+    @Override
+    public T get() {
+      return this.producer.produce();
+    }
+
+    @Override
+    public String toString() {
+      return "?";
+    }
+  }
+
+  /**
+   * Static nested class for a Lazy that memoizes its value until the ring
+   * of its LastN policy makes it forget.  It keeps its producer, so that the
+   * value can be evaluated again.
+   */
+  private static final class Recent<T> extends Lazy<T> {
+    /**
+     * Marks a Recent that has no value.
+     */
+    private static final Object UNSET = new Object();
+
+    private final Producer<? extends T> producer;
+    private final LastN policy;
+
+    /**
+     * The value, or UNSET.  Volatile so that forget() needs no lock.
+     */
+    private volatile Object value;
+
+    /**
+     * Private constructor for the creation of a Recent.
+     *
+     * @param producer The producer that is to be lazily evaluated.
+     * @param policy The policy whose ring records this Lazy.
+     */
+    private Recent(Producer<? extends T> producer, LastN policy) {
+      this.producer = producer;
+      this.policy = policy;
+      this.value = UNSET;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+      Object value = this.value;
+      if (value == UNSET) {
+        boolean evaluated = false;
+        synchronized (this) {
+          value = this.value;
+          if (value == UNSET) {
+            value = this.producer.produce();
+            this.value = value;
+            evaluated = true;
+          }
+        }
+        if (evaluated) {
+          this.policy.remember(this);
+        }
+      }
+      return (T) value;
+    }
+
+    /**
+     * Method that drops the memoized value.
+     */
+    private void forget() {
+      this.value = UNSET;
+    }
+
+    @Override
+    public String toString() {
+      Object value = this.value;
+      return value == UNSET ? "?" : String.valueOf(value);
+    }
+  }
+}
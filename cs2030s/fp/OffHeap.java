@@ -0,0 +1,459 @@
+package cs2030s.fp;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * This class encapsulates off-heap memory for the items memoized by the
+ * offHeap() method of IntInfiniteList, LongInfiniteList and
+ * DoubleInfiniteList.  Items are stored in direct buffers, allocated one
+ * segment at a time, so that the heap holds only an array of segments
+ * however many items are memoized.  The memory lives until it is closed,
+ * after which every list that uses it throws IllegalStateException on any
+ * item it has not already read.  Closing frees the segments at once, after
+ * waiting for the reads in progress to finish.  The segments of a list that
+ * becomes unreachable before then are freed by the garbage collector.
+ *
+ * @author Zhiyang Lu Lab 14H
+ * @version CS2030S AY21/22 Semester 2
+ */
+public final class OffHeap implements AutoCloseable {
+  /**
+   * The default size of a segment, 1 MiB.
+   */
+  private static final int SEGMENT = 1 << 20;
+
+  /**
+   * Counts off the segments of the lists that the garbage collector has
+   * freed.
+   */
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  /**
+   * The sun.misc.Unsafe instance and its invokeCleaner method, which frees
+   * a direct buffer at once, or null if this runtime does not have them.
+   */
+  private static final Object UNSAFE;
+  private static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      Class<?> type = Class.forName("sun.misc.Unsafe");
+      Field field = type.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafe = field.get(null);
+      invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Segments are then left to the garbage collector.
+      unsafe = null;
+      invokeCleaner = null;
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  private final int segment;
+
+  /**
+   * The lists that use this memory, held weakly so that a list no longer
+   * in use can be collected with its segments before the memory is closed.
+   */
+  private final List<WeakReference<Segments>> lists;
+  private long allocated;
+  private boolean closed;
+
+  /**
+   * Private constructor for the creation of an OffHeap.
+   *
+   * @param segment The size of each segment in bytes.
+   */
+  private OffHeap(int segment) {
+    this.segment = segment;
+    this.lists = new ArrayList<>();
+    this.allocated = 0;
+    this.closed = false;
+  }
+
+  /**
+   * Static factory method for off-heap memory with segments of 1 MiB.
+   *
+   * @return Instance of OffHeap.
+   */
+  public static OffHeap create() {
+    return new OffHeap(SEGMENT);
+  }
+
+  /**
+   * Static factory method for off-heap memory with segments of the given
+   * size, which should be large enough for the segments of a long list to
+   * be few.
+   *
+   * @param segment The size of each segment in bytes.
+   * @return Instance of OffHeap.
+   * @throws IllegalArgumentException if segment is less than 8 bytes.
+   */
+  public static OffHeap create(int segment) {
+    if (segment < Long.BYTES) {
+      throw new IllegalArgumentException("segment must be at least 8 bytes: " + segment);
+    }
+    return new OffHeap(segment);
+  }
+
+  /**
+   * Method to retrieve the number of bytes held, which are those of the
+   * segments allocated and not yet freed, by close() or by the garbage
+   * collector.
+   *
+   * @return The number of bytes.
+   */
+  public synchronized long allocated() {
+    return this.allocated;
+  }
+
+  /**
+   * Method to check whether the memory is still open.
+   *
+   * @return True if not yet closed.
+   */
+  public synchronized boolean isOpen() {
+    return !this.closed;
+  }
+
+  /**
+   * Method that frees the segments of every list that uses it, each once
+   * the reads of it in progress have finished.  Closing it again does
+   * nothing.
+   */
+  @Override
+  public void close() {
+    List<Segments> released = new ArrayList<>();
+    synchronized (this) {
+      this.closed = true;
+      for (WeakReference<Segments> list : this.lists) {
+        Segments segments = list.get();
+        if (segments != null) {
+          released.add(segments);
+        }
+      }
+      this.lists.clear();
+    }
+    // Outside the lock, since a list that is appending holds its own lock
+    // while it waits for this one to allocate.
+    for (Segments segments : released) {
+      segments.release();
+    }
+  }
+
+  /**
+   * Method that creates the storage of one list.
+   *
+   * @param width The size of each item in bytes.
+   * @return The storage.
+   * @throws IllegalStateException if the memory is closed.
+   */
+  synchronized Segments segments(int width) {
+    this.checkOpen();
+    this.lists.removeIf(list -> list.get() == null);
+    Segments list = new Segments(this, width);
+    this.lists.add(new WeakReference<>(list));
+    return list;
+  }
+
+  /**
+   * Method that allocates a segment for a list.
+   *
+   * @param account The bytes held by the list.
+   * @return The segment.
+   * @throws IllegalStateException if the memory is closed.
+   */
+  private synchronized ByteBuffer allocate(Account account) {
+    this.checkOpen();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(this.segment);
+    this.allocated += this.segment;
+    account.bytes += this.segment;
+    return buffer;
+  }
+
+  /**
+   * Method that counts off the segments of a list, once they are freed.
+   *
+   * @param account The bytes held by the list.
+   */
+  private synchronized void freed(Account account) {
+    this.allocated -= account.bytes;
+    account.bytes = 0;
+  }
+
+  /**
+   * Static method that frees a segment at once, or leaves it to the
+   * garbage collector if this runtime cannot.
+   *
+   * @param buffer The segment.
+   */
+  private static void free(ByteBuffer buffer) {
+    if (INVOKE_CLEANER == null) {
+      return;
+    }
+    try {
+      INVOKE_CLEANER.invoke(UNSAFE, buffer);
+    } catch (ReflectiveOperationException e) {
+      // Left to the garbage collector, like a runtime without Unsafe.
+    }
+  }
+
+  /**
+   * Method that throws if the memory is closed.
+   *
+   * @throws IllegalStateException if the memory is closed.
+   */
+  private void checkOpen() {
+    if (this.closed) {
+      throw new IllegalStateException("off-heap memory is closed");
+    }
+  }
+
+  /**
+   * Static nested class for the bytes held by one list.  It is the action
+   * of the list's Cleaner, so it must not refer to the list.
+   */
+  private static final class Account implements Runnable {
+    private final OffHeap memory;
+
+    /**
+     * The bytes allocated and not yet counted off, guarded by memory.
+     */
+    private long bytes;
+
+    /**
+     * Private constructor for the creation of an Account.
+     *
+     * @param memory The memory that the bytes are allocated from.
+     */
+    private Account(OffHeap memory) {
+      this.memory = memory;
+      this.bytes = 0;
+    }
+
+    @Override
+    public void run() {
+      this.memory.freed(this);
+    }
+  }
+
+  /**
+   * Static nested class for the segments of one list, in which item k is
+   * at a fixed offset.  Items are appended by one thread at a time, and
+   * read by any thread once the caller has published the new count.  Each
+   * access holds the read lock, so that release, which holds the write
+   * lock, never frees a segment in use.
+   */
+  static final class Segments {
+    private final OffHeap memory;
+    private final int width;
+    private final int perSegment;
+    private final StampedLock lock;
+    private final Account account;
+    private final Cleaner.Cleanable cleanable;
+
+    /**
+     * The segments, or null once released.  Volatile so that a segment
+     * added by one thread is seen by others, and a release by all.
+     */
+    private volatile ByteBuffer[] buffers;
+
+    /**
+     * Private constructor for the creation of Segments.
+     *
+     * @param memory The memory to allocate segments from.
+     * @param width The size of each item in bytes.
+     */
+    private Segments(OffHeap memory, int width) {
+      this.memory = memory;
+      this.width = width;
+      this.perSegment = memory.segment / width;
+      this.lock = new StampedLock();
+      this.account = new Account(memory);
+      this.cleanable = CLEANER.register(this, this.account);
+      this.buffers = new ByteBuffer[0];
+    }
+
+    /**
+     * Method that stores item k as an int.
+     *
+     * @param k The index, which is at most the number of items stored.
+     * @param x The item.
+     */
+    void putInt(long k, int x) {
+      long stamp = this.lock.readLock();
+      try {
+        this.append(k).putInt(this.offset(k), x);
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Method that stores item k as a long.
+     *
+     * @param k The index, which is at most the number of items stored.
+     * @param x The item.
+     */
+    void putLong(long k, long x) {
+      long stamp = this.lock.readLock();
+      try {
+        this.append(k).putLong(this.offset(k), x);
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Method that stores item k as a double.
+     *
+     * @param k The index, which is at most the number of items stored.
+     * @param x The item.
+     */
+    void putDouble(long k, double x) {
+      long stamp = this.lock.readLock();
+      try {
+        this.append(k).putDouble(this.offset(k), x);
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Method that reads item k as an int.
+     *
+     * @param k The index of a stored item.
+     * @return The item.
+     */
+    int getInt(long k) {
+      long stamp = this.lock.readLock();
+      try {
+        return this.segment(k).getInt(this.offset(k));
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Method that reads item k as a long.
+     *
+     * @param k The index of a stored item.
+     * @return The item.
+     */
+    long getLong(long k) {
+      long stamp = this.lock.readLock();
+      try {
+        return this.segment(k).getLong(this.offset(k));
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Method that reads item k as a double.
+     *
+     * @param k The index of a stored item.
+     * @return The item.
+     */
+    double getDouble(long k) {
+      long stamp = this.lock.readLock();
+      try {
+        return this.segment(k).getDouble(this.offset(k));
+      } finally {
+        this.lock.unlockRead(stamp);
+      }
+    }
+
+    /**
+     * Method that returns the segment for item k, allocating it if item k
+     * is the first in a new segment.
+     *
+     * @param k The index, which is at most the number of items stored.
+     * @return The segment.
+     * @throws IllegalStateException if the memory is closed.
+     */
+    private ByteBuffer append(long k) {
+      ByteBuffer[] buffers = this.buffers();
+      int index = (int) (k / this.perSegment);
+      if (index == buffers.length) {
+        ByteBuffer[] grown = Arrays.copyOf(buffers, Math.max(4, 2 * buffers.length));
+        grown[index] = this.memory.allocate(this.account);
+        this.buffers = grown;
+        return grown[index];
+      }
+      if (buffers[index] == null) {
+        buffers[index] = this.memory.allocate(this.account);
+      }
+      return buffers[index];
+    }
+
+    /**
+     * Method that returns the segment for a stored item k.
+     *
+     * @param k The index.
+     * @return The segment.
+     * @throws IllegalStateException if the memory is closed.
+     */
+    private ByteBuffer segment(long k) {
+      return this.buffers()[(int) (k / this.perSegment)];
+    }
+
+    /**
+     * Method that returns the offset of item k in its segment.
+     *
+     * @param k The index.
+     * @return The offset.
+     */
+    private int offset(long k) {
+      return (int) (k % this.perSegment) * this.width;
+    }
+
+    /**
+     * Method that returns the segments, if not yet released.
+     *
+     * @return The segments.
+     * @throws IllegalStateException if the memory is closed.
+     */
+    private ByteBuffer[] buffers() {
+      ByteBuffer[] buffers = this.buffers;
+      if (buffers == null) {
+        throw new IllegalStateException("off-heap memory is closed");
+      }
+      return buffers;
+    }
+
+    /**
+     * Method that frees the segments, once the reads in progress have
+     * finished, and counts them off.
+     */
+    private void release() {
+      long stamp = this.lock.writeLock();
+      try {
+        ByteBuffer[] buffers = this.buffers;
+        this.buffers = null;
+        if (buffers != null) {
+          for (ByteBuffer buffer : buffers) {
+            if (buffer != null) {
+              OffHeap.free(buffer);
+            }
+          }
+        }
+      } finally {
+        this.lock.unlockWrite(stamp);
+      }
+      this.cleanable.clean();
+    }
+  }
+}
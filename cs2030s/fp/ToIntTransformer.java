@@ -0,0 +1,19 @@
+package cs2030s.fp;
+
+/**
+ * Represent a function that transforms a value into an int value.
+ * CS2030S Lab 7
+ * AY21/22 Semester 2
+ *
+ * @param <U> The type of the input value
+ */
+@FunctionalInterface
+public interface ToIntTransformer<U> {
+  /**
+   * The function method to transform the value u.
+   *
+   * @param u The input value
+   * @return The value after applying the given transformation on u.
+   */
+  int transform(U u);
+}
@@ -0,0 +1,41 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generator for IntInfiniteList, LongInfiniteList and DoubleInfiniteList,
+ * which are the same list for three primitive types.  Each is written from
+ * PrimitiveInfiniteList.java.template by replacing @type@, @Type@,
+ * @Boxed@ and @a@.  Run from the root of the repository with
+ * java gen/Generate.java.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+class Generate {
+  /**
+   * The primitive type, its prefix in class names, its boxed type and the
+   * article that goes before them.
+   */
+  private static final String[][] TYPES = {
+    {"int", "Int", "Integer", "an"},
+    {"long", "Long", "Long", "a"},
+    {"double", "Double", "Double", "a"},
+  };
+
+  /**
+   * Main method for Generate.
+   *
+   * @param args Ignored and unused command line arguments.
+   * @throws IOException if the template cannot be read or a list written.
+   */
+  public static void main(String[] args) throws IOException {
+    String template = Files.readString(Path.of("gen", "PrimitiveInfiniteList.java.template"));
+    for (String[] type : TYPES) {
+      String source = template.replace("@type@", type[0])
+                              .replace("@Type@", type[1])
+                              .replace("@Boxed@", type[2])
+                              .replace("@a@", type[3]);
+      Files.writeString(Path.of("cs2030s", "fp", type[1] + "InfiniteList.java"), source);
+    }
+  }
+}
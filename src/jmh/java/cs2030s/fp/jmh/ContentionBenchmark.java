@@ -0,0 +1,87 @@
+package cs2030s.fp.jmh;
+
+import cs2030s.fp.Lazy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for Lazy.get() on an evaluated Lazy that is shared by
+ * every benchmark thread, against a plain field read as a baseline.  Both
+ * the uncontended get and the contended get, with a thread per processor,
+ * should stay close to the field read, as an evaluated Lazy only reads a
+ * volatile field and takes no lock.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class ContentionBenchmark {
+  private Integer plain;
+
+  private Lazy<Integer> evaluated;
+
+  /**
+   * Set up the field and the evaluated Lazy that all threads read.
+   */
+  @Setup
+  public void setUp() {
+    this.plain = 42;
+    this.evaluated = Lazy.of(() -> 42);
+    this.evaluated.get();
+  }
+
+  /**
+   * A plain field read, as the baseline.
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  @Threads(1)
+  public void plainField(Blackhole blackhole) {
+    blackhole.consume(this.plain);
+  }
+
+  /**
+   * Lazy.get() from one thread.
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  @Threads(1)
+  public void uncontendedGet(Blackhole blackhole) {
+    blackhole.consume(this.evaluated.get());
+  }
+
+  /**
+   * Lazy.get() from a thread per processor, all on the same Lazy.
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void contendedGet(Blackhole blackhole) {
+    blackhole.consume(this.evaluated.get());
+  }
+
+  /**
+   * Lazy.of(() -> 42).get(), which evaluates a new Lazy each time.
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  @Threads(1)
+  public void firstGet(Blackhole blackhole) {
+    blackhole.consume(Lazy.of(() -> 42).get());
+  }
+}
@@ -0,0 +1,136 @@
+package cs2030s.fp.jmh;
+
+import cs2030s.fp.InfiniteList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for InfiniteList pipelines of 10 to 10M items.  Each
+ * benchmark builds a new list and walks it to the end, so its time and its
+ * allocation under -prof gc cover the whole pipeline.  Lists of 10M items
+ * are memoized while they are walked, hence the larger heap of each fork.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class InfiniteListBenchmark {
+  /**
+   * The number of items that each benchmark walks.
+   */
+  @Param({ "10", "1000", "100000", "10000000" })
+  private long size;
+
+  /**
+   * iterate().limit(n).count() of a list of a known size.
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long countKnownSize() {
+    return InfiniteList.iterate(0, x -> x + 1).limit(this.size).count();
+  }
+
+  /**
+   * iterate().limit(n).reduce((k, x) -> k + 1).
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long iterateReduce() {
+    return InfiniteList.iterate(0, x -> x + 1).limit(this.size).reduce(0L, (k, x) -> k + 1);
+  }
+
+  /**
+   * generate().limit(n).reduce((k, x) -> k + 1).
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long generateReduce() {
+    return InfiniteList.generate(() -> 1).limit(this.size).reduce(0L, (k, x) -> k + 1);
+  }
+
+  /**
+   * iterate().map().limit(n).reduce((k, x) -> k + 1).
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long mapReduce() {
+    return InfiniteList.iterate(0, x -> x + 1).map(x -> x * 2).limit(this.size)
+        .reduce(0L, (k, x) -> k + 1);
+  }
+
+  /**
+   * iterate().filter().limit(n).count().
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long filterCount() {
+    return InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 0).limit(this.size).count();
+  }
+
+  /**
+   * iterate().limit(2n).limit(n).reduce((k, x) -> k + 1).
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long limitLimitReduce() {
+    return InfiniteList.iterate(0, x -> x + 1).limit(2 * this.size).limit(this.size)
+        .reduce(0L, (k, x) -> k + 1);
+  }
+
+  /**
+   * iterate().takeWhile(x -> x &lt; n).count().
+   *
+   * @return The count.
+   */
+  @Benchmark
+  public long takeWhileCount() {
+    long n = this.size;
+    return InfiniteList.iterate(0L, x -> x + 1).takeWhile(x -> x < n).count();
+  }
+
+  /**
+   * iterate().limit(n).reduce(0L, (x, y) -> x + y).
+   *
+   * @return The sum.
+   */
+  @Benchmark
+  public long reduceSum() {
+    return InfiniteList.iterate(0L, x -> x + 1).limit(this.size).reduce(0L, (x, y) -> x + y);
+  }
+
+  /**
+   * iterate().limit(n).toList().
+   *
+   * @return The list.
+   */
+  @Benchmark
+  public Object toList() {
+    return InfiniteList.iterate(0, x -> x + 1).limit(this.size).toList();
+  }
+
+  /**
+   * iterate().limit(n).forEach(), with each item consumed by the blackhole.
+   *
+   * @param blackhole Consumes each item.
+   */
+  @Benchmark
+  public void forEach(Blackhole blackhole) {
+    InfiniteList.iterate(0, x -> x + 1).limit(this.size).forEach(blackhole::consume);
+  }
+}
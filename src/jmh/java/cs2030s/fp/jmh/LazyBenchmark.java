@@ -0,0 +1,70 @@
+package cs2030s.fp.jmh;
+
+import cs2030s.fp.Lazy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for Lazy: map, flatMap and combine, each from a new Lazy
+ * and evaluated once.  Each operation is measured on its own, in its own
+ * forks.  Get on an evaluated Lazy is in MemoizedBenchmark.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class LazyBenchmark {
+  /**
+   * The item of each new Lazy, which is read from a field so that the JIT
+   * cannot fold it into a constant.
+   */
+  private long item;
+
+  /**
+   * Set up the item.
+   */
+  @Setup
+  public void setUp() {
+    this.item = 7;
+  }
+
+  /**
+   * Lazy.of(k).map(x -> x + 1).get().
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void map(Blackhole blackhole) {
+    blackhole.consume(Lazy.of(this.item).map(x -> x + 1).get());
+  }
+
+  /**
+   * Lazy.of(k).flatMap(x -> Lazy.of(x + 1)).get().
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void flatMap(Blackhole blackhole) {
+    blackhole.consume(Lazy.of(this.item).flatMap(x -> Lazy.of(x + 1)).get());
+  }
+
+  /**
+   * Lazy.of(k).combine(Lazy.of(1L), (x, y) -> x + y).get().
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void combine(Blackhole blackhole) {
+    blackhole.consume(Lazy.of(this.item).combine(Lazy.of(1L), (x, y) -> x + y).get());
+  }
+}
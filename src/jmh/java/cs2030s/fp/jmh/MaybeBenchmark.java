@@ -0,0 +1,82 @@
+package cs2030s.fp.jmh;
+
+import cs2030s.fp.Maybe;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for Maybe: map, filter and flatMap on a Some, and on a
+ * None for the filter that drops it.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class MaybeBenchmark {
+  /**
+   * The item of each Some.  An odd item is filtered out by filter.
+   */
+  @Param({ "6", "7" })
+  private long item;
+
+  private Maybe<Long> some;
+
+  /**
+   * Set up a Some of the item.
+   */
+  @Setup
+  public void setUp() {
+    this.some = Maybe.some(this.item);
+  }
+
+  /**
+   * Maybe.some(k).map(x -> x + 1).orElse(0L).
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void map(Blackhole blackhole) {
+    blackhole.consume(Maybe.some(this.item).map(x -> x + 1).orElse(0L));
+  }
+
+  /**
+   * Maybe.some(k).filter(x -> x % 2 == 0).orElse(0L).
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void filter(Blackhole blackhole) {
+    blackhole.consume(Maybe.some(this.item).filter(x -> x % 2 == 0).orElse(0L));
+  }
+
+  /**
+   * Maybe.some(k).flatMap(x -> Maybe.some(x + 1)).orElse(0L).
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void flatMap(Blackhole blackhole) {
+    blackhole.consume(Maybe.some(this.item).flatMap(x -> Maybe.some(x + 1)).orElse(0L));
+  }
+
+  /**
+   * map(x -> x + 1) on an existing Some, which only allocates the result.
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void mapExisting(Blackhole blackhole) {
+    blackhole.consume(this.some.map(x -> x + 1));
+  }
+}
@@ -0,0 +1,63 @@
+package cs2030s.fp.jmh;
+
+import cs2030s.fp.InfiniteList;
+import cs2030s.fp.Lazy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for reads of values that are already memoized: get on an
+ * evaluated Lazy, and head of the evaluated tail of a filtered list.  Run
+ * with -prof gc, both should report a gc.alloc.rate.norm of about 0 B/op,
+ * as nothing is allocated once the first read has evaluated the value.
+ *
+ * @author Zhiyang Lu Lab 14H
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class MemoizedBenchmark {
+  private Lazy<Integer> evaluated;
+
+  private InfiniteList<Integer> evens;
+
+  /**
+   * Set up an evaluated Lazy and a filtered list with its tail evaluated.
+   */
+  @Setup
+  public void setUp() {
+    this.evaluated = Lazy.of(() -> 42);
+    this.evaluated.get();
+    this.evens = InfiniteList.iterate(0, x -> x + 1).filter(x -> x % 2 == 0);
+    this.evens.tail().head();
+  }
+
+  /**
+   * Lazy.get() on an evaluated Lazy.
+   *
+   * @param blackhole Consumes the value.
+   */
+  @Benchmark
+  public void lazyGet(Blackhole blackhole) {
+    blackhole.consume(this.evaluated.get());
+  }
+
+  /**
+   * filter().tail().head() on a list whose tail has been evaluated.
+   *
+   * @param blackhole Consumes the head.
+   */
+  @Benchmark
+  public void filteredTailHead(Blackhole blackhole) {
+    blackhole.consume(this.evens.tail().head());
+  }
+}